@@ -0,0 +1,52 @@
+package barrioFunde.demo.application.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Inicio de sesión: búsqueda del usuario, verificación del hash, rehash y token
+ */
+@Name(AutenticacionEvent.NOMBRE)
+@Label("Autenticación")
+@Category({"BarrioFunde", "Seguridad"})
+@Description("Verificación de credenciales y emisión del token")
+@StackTrace(false)
+public class AutenticacionEvent extends jdk.jfr.Event {
+
+    public static final String NOMBRE = "barrioFunde.Autenticacion";
+
+    @Label("Usuario")
+    long usuarioId;
+
+    @Label("Exitosa")
+    boolean exitosa;
+
+    @Label("Rehash")
+    @Description("Se regeneró el hash de la contraseña con el costo vigente")
+    boolean rehash;
+
+    public static AutenticacionEvent iniciar() {
+        AutenticacionEvent evento = new AutenticacionEvent();
+        evento.begin();
+        return evento;
+    }
+
+    public void usuario(Long usuarioId) {
+        this.usuarioId = usuarioId != null ? usuarioId : 0;
+    }
+
+    public void exitosa(boolean rehash) {
+        this.exitosa = true;
+        this.rehash = rehash;
+    }
+
+    public void registrar() {
+        end();
+        if (shouldCommit()) {
+            commit();
+        }
+    }
+}
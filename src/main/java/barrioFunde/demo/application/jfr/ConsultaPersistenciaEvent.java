@@ -0,0 +1,52 @@
+package barrioFunde.demo.application.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Consulta o escritura del adaptador de persistencia de donaciones
+ * Solo se registran las que terminan bien; las fallidas quedan en el evento de la
+ * petición o de la operación que las contiene
+ */
+@Name(ConsultaPersistenciaEvent.NOMBRE)
+@Label("Consulta de persistencia")
+@Category({"BarrioFunde", "Persistencia"})
+@Description("Operación del repositorio de donaciones con las filas devueltas o modificadas")
+@StackTrace(false)
+public class ConsultaPersistenciaEvent extends jdk.jfr.Event {
+
+    public static final String NOMBRE = "barrioFunde.ConsultaPersistencia";
+
+    @Label("Operación")
+    String operacion;
+
+    @Label("Usuario")
+    @Description("Usuario consultado; 0 si la operación no es de un usuario")
+    long usuarioId;
+
+    @Label("Filas")
+    int filas;
+
+    public static ConsultaPersistenciaEvent iniciar(String operacion) {
+        return iniciar(operacion, null);
+    }
+
+    public static ConsultaPersistenciaEvent iniciar(String operacion, Long usuarioId) {
+        ConsultaPersistenciaEvent evento = new ConsultaPersistenciaEvent();
+        evento.operacion = operacion;
+        evento.usuarioId = usuarioId != null ? usuarioId : 0;
+        evento.begin();
+        return evento;
+    }
+
+    public void registrar(int filas) {
+        end();
+        if (shouldCommit()) {
+            this.filas = filas;
+            commit();
+        }
+    }
+}
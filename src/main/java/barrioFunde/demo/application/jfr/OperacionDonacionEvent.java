@@ -0,0 +1,60 @@
+package barrioFunde.demo.application.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Creación o confirmación de una donación: reglas, escrituras y tabla de posiciones
+ */
+@Name(OperacionDonacionEvent.NOMBRE)
+@Label("Operación de donación")
+@Category({"BarrioFunde", "Donaciones"})
+@Description("Creación o confirmación de una donación")
+@StackTrace(false)
+public class OperacionDonacionEvent extends jdk.jfr.Event {
+
+    public static final String NOMBRE = "barrioFunde.OperacionDonacion";
+
+    public static final String CREAR = "crear";
+    public static final String CONFIRMAR = "confirmar";
+
+    @Label("Operación")
+    String operacion;
+
+    @Label("Donación")
+    long donacionId;
+
+    @Label("Usuario")
+    long usuarioId;
+
+    @Label("Filas")
+    @Description("Donaciones escritas por la operación")
+    int filas;
+
+    @Label("Exitosa")
+    boolean exitosa;
+
+    public static OperacionDonacionEvent iniciar(String operacion) {
+        OperacionDonacionEvent evento = new OperacionDonacionEvent();
+        evento.operacion = operacion;
+        evento.begin();
+        return evento;
+    }
+
+    public void exitosa(Long donacionId, Long usuarioId) {
+        this.donacionId = donacionId != null ? donacionId : 0;
+        this.usuarioId = usuarioId != null ? usuarioId : 0;
+        this.filas = 1;
+        this.exitosa = true;
+    }
+
+    public void registrar() {
+        end();
+        if (shouldCommit()) {
+            commit();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package barrioFunde.demo.application.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Petición HTTP completa, desde el filtro JWT hasta que responde el controlador
+ * Los demás eventos barrioFunde.* del mismo hilo y dentro de su duración son
+ * parte de esta petición (así los agrupa AnalizadorGrabacionJfr)
+ */
+@Name(PeticionHttpEvent.NOMBRE)
+@Label("Petición HTTP")
+@Category({"BarrioFunde", "Web"})
+@Description("Petición atendida, con el usuario autenticado y el tiempo de validación del token")
+@StackTrace(false)
+public class PeticionHttpEvent extends jdk.jfr.Event {
+
+    public static final String NOMBRE = "barrioFunde.PeticionHttp";
+
+    @Label("Método")
+    String metodo;
+
+    @Label("Endpoint")
+    @Description("Patrón del controlador (/api/donaciones/{id}); la URI si no hubo controlador")
+    String endpoint;
+
+    @Label("Usuario")
+    long usuarioId;
+
+    @Label("Estado HTTP")
+    int estado;
+
+    @Label("Validación del token")
+    @Timespan(Timespan.NANOSECONDS)
+    long validacionToken;
+
+    public static PeticionHttpEvent iniciar(String metodo) {
+        PeticionHttpEvent evento = new PeticionHttpEvent();
+        evento.metodo = metodo;
+        evento.begin();
+        return evento;
+    }
+
+    public void tokenValidado(Long usuarioId, long validacionToken) {
+        this.usuarioId = usuarioId != null ? usuarioId : 0;
+        this.validacionToken = validacionToken;
+    }
+
+    public void registrar(String endpoint, int estado) {
+        end();
+        if (shouldCommit()) {
+            this.endpoint = endpoint;
+            this.estado = estado;
+            commit();
+        }
+    }
+}
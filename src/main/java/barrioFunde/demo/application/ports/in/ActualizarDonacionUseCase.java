@@ -1,6 +1,27 @@
 package barrioFunde.demo.application.ports.in;
 
+import barrioFunde.demo.domain.model.FiltroDonacion;
+import barrioFunde.demo.domain.model.ResultadoTransicion;
+import barrioFunde.demo.domain.model.TransicionPendientes;
+
+import java.util.List;
+
 public interface ActualizarDonacionUseCase {
     void confirmar(Long donacionId, String notasAdmin);
     void rechazar(Long donacionId, String motivo);
+
+    /**
+     * Confirma o rechaza varias donaciones en una sola sentencia; solo cambian las pendientes
+     * @return Un resultado por id (sin repetidos, en el orden recibido)
+     */
+    List<ResultadoTransicion> confirmarLote(List<Long> donacionIds, String notasAdmin);
+    List<ResultadoTransicion> rechazarLote(List<Long> donacionIds, String motivo);
+
+    /**
+     * Confirma o rechaza las pendientes que cumplan el filtro (tipo y/o rango de fechas),
+     * como máximo 1000 por llamada y empezando por las más antiguas
+     * @return Un resultado por cada donación cambiada; hayMas indica que hay que repetir la llamada
+     */
+    TransicionPendientes confirmarPendientes(FiltroDonacion filtro, String notasAdmin);
+    TransicionPendientes rechazarPendientes(FiltroDonacion filtro, String motivo);
 }
@@ -1,21 +1,43 @@
 package barrioFunde.demo.application.ports.in;
 
 
+import barrioFunde.demo.domain.model.CursorDonacion;
 import barrioFunde.demo.domain.model.Donacion;
-import barrioFunde.demo.domain.model.enums.EstadoDonacion;
-import barrioFunde.demo.domain.model.enums.TipoDonacion;
+import barrioFunde.demo.domain.model.DonacionConDonante;
+import barrioFunde.demo.domain.model.FiltroDonacion;
+import barrioFunde.demo.domain.model.PaginaDonaciones;
+import barrioFunde.demo.domain.model.Usuario;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.BiConsumer;
 
 public interface ConsultarDonacionUseCase {
     Optional<Donacion> buscarPorId(Long id);
-    List<Donacion> listarTodas();
+
+    /**
+     * Donación con los datos de su donante, en una sola consulta
+     */
+    Optional<DonacionConDonante> buscarPorIdConDonante(Long id);
+
     List<Donacion> buscarPorUsuario(Long usuarioId);
-    List<Donacion> buscarPorEstado(EstadoDonacion estado);
-    List<Donacion> buscarPorTipo(TipoDonacion tipo);
-    List<Donacion> buscarPorFechas(LocalDateTime fechaInicio, LocalDateTime fechaFin);
     BigDecimal calcularTotalDonado(Long usuarioId);
+
+    /**
+     * Lista donaciones por páginas, de la más reciente a la más antigua
+     * @param filtro Criterios opcionales (estado, tipo, rango de fechas)
+     * @param cursor Posición devuelta por la página anterior, o null para la primera
+     * @param limite Tamaño de página solicitado
+     * @return Página con las donaciones (y sus donantes) y el cursor de la siguiente
+     */
+    PaginaDonaciones listarPagina(FiltroDonacion filtro, CursorDonacion cursor, int limite);
+
+    /**
+     * Exporta las donaciones de un rango de fechas entregándolas una a una
+     * La memoria usada no depende de la cantidad de filas exportadas
+     * @param consumidor Recibe cada donación junto con su donante
+     */
+    void exportarPorFechas(LocalDateTime fechaInicio, LocalDateTime fechaFin, BiConsumer<Donacion, Usuario> consumidor);
 }
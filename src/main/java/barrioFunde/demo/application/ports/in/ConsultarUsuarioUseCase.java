@@ -1,9 +1,12 @@
 package barrioFunde.demo.application.ports.in;
 
 
+import barrioFunde.demo.domain.model.PaginaUsuarios;
 import barrioFunde.demo.domain.model.Usuario;
+import barrioFunde.demo.domain.model.enums.ModoBusquedaUsuario;
 import barrioFunde.demo.domain.model.enums.RolUsuario;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +22,13 @@ public interface ConsultarUsuarioUseCase {
      */
     Optional<Usuario> buscarPorId(Long id);
 
+    /**
+     * Busca varios usuarios por sus IDs en una sola consulta
+     * @param ids IDs de los usuarios
+     * @return Lista de usuarios encontrados (los IDs inexistentes se omiten)
+     */
+    List<Usuario> buscarPorIds(Collection<Long> ids);
+
     /**
      * Busca un usuario por su email
      * @param email Email del usuario
@@ -51,4 +61,14 @@ public interface ConsultarUsuarioUseCase {
      * @return Lista de usuarios que coincidan
      */
     List<Usuario> buscarPorNombre(String nombre);
+
+    /**
+     * Búsqueda paginada para el buscador de usuarios (se llama en cada tecla)
+     * @param termino Texto escrito
+     * @param modo SIMILITUD en nombre o email, o PREFIJO del nombre para autocompletar
+     * @param pagina Número de página, desde 0
+     * @param tamano Resultados por página
+     * @return Página de usuarios ordenada por relevancia
+     */
+    PaginaUsuarios buscar(String termino, ModoBusquedaUsuario modo, int pagina, int tamano);
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package barrioFunde.demo.application.ports.in;
+
+import barrioFunde.demo.domain.model.Donacion;
+import barrioFunde.demo.domain.model.ResultadoFilaLote;
+
+import java.util.List;
+
+public interface CrearDonacionesLoteUseCase {
+
+    /**
+     * Registra un lote de donaciones (planillas de campo) con las mismas reglas que crear:
+     * las filas inválidas se informan y el resto se guarda en una sola transacción
+     * @return Un resultado por fila, en el mismo orden de la lista recibida
+     */
+    List<ResultadoFilaLote> crearLote(List<Donacion> donaciones);
+}
@@ -1,5 +1,7 @@
 package barrioFunde.demo.application.ports.in;
 
+import barrioFunde.demo.domain.model.RankingRow;
+
 import java.util.List;
 import java.util.Map;
 
@@ -8,9 +10,9 @@ public interface ObtenerRankingDonantesUseCase {
     /**
      * Obtiene el top N de donantes por monto total
      * @param limite Número de donantes a retornar
-     * @return Map con usuarioId y total donado
+     * @return Filas ordenadas por total donado (descendente)
      */
-    List<Map<String, Object>> obtenerTopDonantes(int limite);
+    List<RankingRow> obtenerTopDonantes(int limite);
 
     /**
      * Obtiene estadísticas de un donante específico
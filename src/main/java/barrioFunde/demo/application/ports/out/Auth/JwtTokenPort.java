@@ -1,8 +1,11 @@
 package barrioFunde.demo.application.ports.out.Auth;
 
 
+import barrioFunde.demo.domain.model.Auth.DatosToken;
 import barrioFunde.demo.domain.model.Usuario;
 
+import java.util.Optional;
+
 /**
  * Puerto de salida: Define lo que la aplicación NECESITA para JWT
  * Interface que será implementada por el adaptador de infraestructura
@@ -16,6 +19,13 @@ public interface JwtTokenPort {
      */
     String generateToken(Usuario usuario);
 
+    /**
+     * Valida el token y extrae sus datos en un solo parseo
+     * @param token Token JWT
+     * @return Datos del token, o vacío si la firma no es válida o expiró
+     */
+    Optional<DatosToken> leerToken(String token);
+
     /**
      * Valida un token JWT
      * @param token Token a validar
@@ -0,0 +1,35 @@
+package barrioFunde.demo.application.ports.out.Auth;
+
+/**
+ * Puerto de salida para la revocación de tokens por usuario
+ * Se guarda el instante de la última revocación de cada usuario: los tokens
+ * emitidos antes dejan de ser válidos y los emitidos después (en cualquier
+ * nodo) siguen valiendo.
+ * La revocación es local: solo tiene efecto en el nodo que la hizo; los demás
+ * siguen aceptando los tokens anteriores hasta que expiren
+ */
+public interface RevocacionTokenPort {
+
+    /**
+     * Instante de la última revocación conocida en este nodo
+     * @param usuarioId ID del usuario
+     * @return Milisegundos desde epoch, 0 si nunca se revocaron sus tokens
+     */
+    long revocadoHasta(Long usuarioId);
+
+    /**
+     * Invalida todos los tokens emitidos hasta ahora para el usuario
+     * @param usuarioId ID del usuario
+     */
+    void revocar(Long usuarioId);
+
+    /**
+     * Verifica si un token emitido en el instante indicado sigue vigente
+     * @param usuarioId ID del usuario
+     * @param emitidoEn Instante de emisión del token (ms desde epoch)
+     * @return true si el token se emitió después de la última revocación
+     */
+    default boolean esVigente(Long usuarioId, long emitidoEn) {
+        return emitidoEn > revocadoHasta(usuarioId);
+    }
+}
@@ -1,34 +1,69 @@
 package barrioFunde.demo.application.ports.out;
 
+import barrioFunde.demo.domain.model.CursorDonacion;
 import barrioFunde.demo.domain.model.Donacion;
+import barrioFunde.demo.domain.model.DonacionConDonante;
+import barrioFunde.demo.domain.model.EstadisticasDonante;
+import barrioFunde.demo.domain.model.FiltroDonacion;
+import barrioFunde.demo.domain.model.RankingRow;
+import barrioFunde.demo.domain.model.TotalDonante;
+import barrioFunde.demo.domain.model.Usuario;
 import barrioFunde.demo.domain.model.enums.EstadoDonacion;
-import barrioFunde.demo.domain.model.enums.TipoDonacion;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
 
 public interface DonacionRepositoryPort {
 
     // CRUD Básico
     Donacion guardar(Donacion donacion);
+    // UPDATE ... WHERE estado = 'PENDIENTE' en una sentencia; vacío si no existe o ya no estaba pendiente
+    Optional<Donacion> cambiarEstadoSiPendiente(Long id, EstadoDonacion estado, LocalDateTime fechaConfirmacion, String notas);
+    // La misma transición para varias donaciones (por ids o por filtro); devuelve solo las que cambiaron
+    List<Donacion> cambiarEstadoPendientes(Collection<Long> ids, EstadoDonacion estado, LocalDateTime fechaConfirmacion, String notas);
+    // Por filtro cambia como máximo 'limite' pendientes, las más antiguas
+    List<Donacion> cambiarEstadoPendientes(FiltroDonacion filtro, EstadoDonacion estado, LocalDateTime fechaConfirmacion, String notas, int limite);
+    boolean existenPendientes(FiltroDonacion filtro);
+    List<Donacion> buscarPorIds(Collection<Long> ids);
     Optional<Donacion> buscarPorId(Long id);
-    List<Donacion> buscarTodas();
+    Optional<DonacionConDonante> buscarPorIdConDonante(Long id);
     void eliminar(Long id);
 
     // Consultas específicas
     List<Donacion> buscarPorUsuarioId(Long usuarioId);
-    List<Donacion> buscarPorEstado(EstadoDonacion estado);
-    List<Donacion> buscarPorTipo(TipoDonacion tipo);
-    List<Donacion> buscarPorFechas(LocalDateTime fechaInicio, LocalDateTime fechaFin);
 
-    // Para ranking
-    List<Map<String, Object>> obtenerTopDonantesPorMonto(int limite);
+    // Paginación keyset sobre (fecha_donacion, id) descendente; cursor null = primera página
+    // Cada donación viene con su donante, leído en la misma consulta
+    List<DonacionConDonante> buscarPagina(FiltroDonacion filtro, CursorDonacion despuesDe, int limite);
+
+    // Recorre fila por fila (cursor JDBC) las donaciones del rango junto con su donante, sin materializar la lista
+    void recorrerPorFechas(LocalDateTime fechaInicio, LocalDateTime fechaFin, BiConsumer<Donacion, Usuario> consumidor);
+
+    // Para ranking (leen la tabla de totales por donante, no agregan donaciones)
+    List<RankingRow> obtenerTopDonantesPorMonto(int limite);
+    List<TotalDonante> obtenerTotalesPorDonante();
     BigDecimal calcularTotalDonadoPorUsuario(Long usuarioId);
-    Long contarDonacionesPorUsuario(Long usuarioId);
 
-    // Validaciones
-    boolean existeDonacionPendientePorUsuario(Long usuarioId);
+    // Suma, cantidad, mínimo, máximo, promedio y percentiles en una sola consulta
+    EstadisticasDonante obtenerEstadisticasDonante(Long usuarioId);
+
+    // Totales por donante: se suma cada confirmación en la misma transacción
+    // y se reconstruyen desde cero en la conciliación periódica
+    // (false si otro nodo ya la estaba haciendo)
+    void acumularConfirmacion(Donacion donacion);
+    void acumularConfirmaciones(List<Donacion> donaciones);
+    boolean reconstruirTotales();
+
+    // Carga masiva: INSERT en lotes JDBC; devuelve las donaciones con su id asignado
+    List<Donacion> guardarLote(List<Donacion> donaciones);
+
+    // Validaciones (la regla "una pendiente por usuario" la impone el índice
+    // uk_donaciones_pendiente_usuario; guardar y guardarLote lanzan IllegalStateException)
+    // De los usuarios dados, los que ya tienen una donación pendiente (una sola consulta)
+    Set<Long> buscarUsuariosConDonacionPendiente(Collection<Long> usuarioIds);
 }
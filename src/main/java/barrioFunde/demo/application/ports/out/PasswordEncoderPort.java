@@ -10,6 +10,7 @@ public interface PasswordEncoderPort {
      * Encripta una contraseña
      * @param rawPassword Contraseña sin encriptar
      * @return Contraseña encriptada
+     * @throws java.util.concurrent.RejectedExecutionException si el servicio de hashing está saturado
      */
     String encode(String rawPassword);
 
@@ -18,6 +19,15 @@ public interface PasswordEncoderPort {
      * @param rawPassword Contraseña sin encriptar
      * @param encodedPassword Contraseña encriptada
      * @return true si coinciden
+     * @throws java.util.concurrent.RejectedExecutionException si el servicio de hashing está saturado
      */
     boolean matches(String rawPassword, String encodedPassword);
+
+    /**
+     * Indica si un hash se generó con una política más débil que la actual
+     * (por ejemplo, un costo de BCrypt menor) y debería regenerarse
+     * @param encodedPassword Contraseña encriptada
+     * @return true si conviene volver a encriptar
+     */
+    boolean requiereRehash(String encodedPassword);
 }
\ No newline at end of file
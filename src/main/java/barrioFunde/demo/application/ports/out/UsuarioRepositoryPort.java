@@ -3,6 +3,7 @@ package barrioFunde.demo.application.ports.out;
 import barrioFunde.demo.domain.model.Usuario;
 import barrioFunde.demo.domain.model.enums.RolUsuario;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,6 +28,13 @@ public interface UsuarioRepositoryPort {
      */
     Optional<Usuario> buscarPorId(Long id);
 
+    /**
+     * Busca varios usuarios por ID con una única consulta IN
+     * @param ids IDs de los usuarios
+     * @return Lista de usuarios encontrados
+     */
+    List<Usuario> buscarPorIds(Collection<Long> ids);
+
     /**
      * Busca un usuario por email
      * @param email Email del usuario
@@ -68,6 +76,25 @@ public interface UsuarioRepositoryPort {
      */
     List<Usuario> buscarPorNombre(String nombre);
 
+    /**
+     * Busca usuarios cuyo nombre o email contenga el término o se le parezca
+     * (trigramas), del más parecido al menos parecido
+     * @param termino Texto a buscar, en minúsculas
+     * @param desde Cantidad de resultados a saltar
+     * @param limite Máximo de resultados
+     * @return Usuarios ordenados por similitud
+     */
+    List<Usuario> buscarPorSimilitud(String termino, int desde, int limite);
+
+    /**
+     * Busca usuarios cuyo nombre empiece por el prefijo, en orden alfabético
+     * @param prefijo Inicio del nombre, en minúsculas
+     * @param desde Cantidad de resultados a saltar
+     * @param limite Máximo de resultados
+     * @return Usuarios ordenados por nombre
+     */
+    List<Usuario> buscarPorPrefijoNombre(String prefijo, int desde, int limite);
+
     /**
      * Cuenta usuarios por rol
      * @param rol Rol a contar
@@ -94,4 +121,13 @@ public interface UsuarioRepositoryPort {
      * @return true si existe
      */
     boolean existePorId(Long id);
+
+    /**
+     * Reemplaza solo el hash de la contraseña (rehash con un costo nuevo)
+     * @param id ID del usuario
+     * @param hashAnterior Hash que se verificó; si ya no es el guardado no se cambia nada
+     * @param passwordEncriptada Nuevo hash
+     * @return true si se reemplazó
+     */
+    boolean actualizarPassword(Long id, String hashAnterior, String passwordEncriptada);
 }
@@ -1,5 +1,6 @@
 package barrioFunde.demo.application.ports.usecases.Auth;
 
+import barrioFunde.demo.application.jfr.AutenticacionEvent;
 import barrioFunde.demo.application.ports.in.Auth.AutenticarUsuarioUseCase;
 import barrioFunde.demo.application.ports.out.Auth.JwtTokenPort;
 import barrioFunde.demo.application.ports.out.PasswordEncoderPort;
@@ -9,6 +10,7 @@ import barrioFunde.demo.domain.model.Auth.AuthToken;
 import barrioFunde.demo.domain.model.Usuario;
 import barrioFunde.demo.domain.service.Auth.ReglasNegocioAuth;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 import java.time.LocalDateTime;
 
@@ -17,6 +19,7 @@ import java.time.LocalDateTime;
  * Orquesta la lógica de aplicación usando los puertos
  */
 @RequiredArgsConstructor
+@Slf4j
 public class AutenticacionService implements AutenticarUsuarioUseCase {
 
     private final UsuarioRepositoryPort usuarioRepositoryPort;
@@ -25,12 +28,22 @@ public class AutenticacionService implements AutenticarUsuarioUseCase {
 
     @Override
     public AuthToken autenticar(AuthCredentials credentials) {
+        AutenticacionEvent evento = AutenticacionEvent.iniciar();
+        try {
+            return autenticar(credentials, evento);
+        } finally {
+            evento.registrar();
+        }
+    }
+
+    private AuthToken autenticar(AuthCredentials credentials, AutenticacionEvent evento) {
         // 1. Validar credenciales (dominio)
         credentials.validar();
 
         // 2. Buscar usuario por email (puerto)
         Usuario usuario = usuarioRepositoryPort.buscarPorEmail(credentials.getEmail())
                 .orElseThrow(() -> new IllegalArgumentException("Credenciales inválidas"));
+        evento.usuario(usuario.getId());
 
         // 3. Validar usuario según reglas de negocio (dominio)
         ReglasNegocioAuth.validarUsuarioParaAutenticacion(usuario);
@@ -47,10 +60,14 @@ public class AutenticacionService implements AutenticarUsuarioUseCase {
             throw new IllegalArgumentException("Credenciales inválidas");
         }
 
-        // 5. Generar token JWT (puerto)
+        // 5. Regenerar el hash si se creó con un costo menor al actual
+        boolean rehash = rehashSiEsNecesario(usuario, credentials.getPassword());
+
+        // 6. Generar token JWT (puerto)
         String token = jwtTokenPort.generateToken(usuario);
+        evento.exitosa(rehash);
 
-        // 6. Construir respuesta con token
+        // 7. Construir respuesta con token
         return AuthToken.builder()
                 .token(token)
                 .type("Bearer")
@@ -58,6 +75,32 @@ public class AutenticacionService implements AutenticarUsuarioUseCase {
                 .usuario(usuario)
                 .build();
     }
+
+    /**
+     * Solo se puede rehashear aquí: es el único momento en que se conoce la contraseña.
+     * Un fallo (por ejemplo, servicio de hashing saturado) no impide el login;
+     * se reintentará en el próximo inicio de sesión
+     */
+    private boolean rehashSiEsNecesario(Usuario usuario, String password) {
+        if (!passwordEncoderPort.requiereRehash(usuario.getPassword())) {
+            return false;
+        }
+
+        try {
+            String nuevoHash = passwordEncoderPort.encode(password);
+            // La contraseña pudo cambiar durante el encode: entonces el hash nuevo es de la anterior
+            if (!usuarioRepositoryPort.actualizarPassword(usuario.getId(), usuario.getPassword(), nuevoHash)) {
+                log.info("Contraseña del usuario {} cambiada durante el rehash, se conserva", usuario.getId());
+                return false;
+            }
+            usuario.setPassword(nuevoHash);
+            log.info("Hash de contraseña actualizado al costo vigente para usuario {}", usuario.getId());
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("No se pudo actualizar el hash del usuario {}: {}", usuario.getId(), e.getMessage());
+            return false;
+        }
+    }
 }
 
 
@@ -1,48 +1,86 @@
 package barrioFunde.demo.application.ports.usecases;
 
+import barrioFunde.demo.application.jfr.OperacionDonacionEvent;
 import barrioFunde.demo.application.ports.in.ActualizarDonacionUseCase;
 import barrioFunde.demo.application.ports.in.ConsultarDonacionUseCase;
 import barrioFunde.demo.application.ports.in.CrearDonacionUseCase;
+import barrioFunde.demo.application.ports.in.CrearDonacionesLoteUseCase;
 import barrioFunde.demo.application.ports.in.ObtenerRankingDonantesUseCase;
 import barrioFunde.demo.application.ports.out.DonacionRepositoryPort;
+import barrioFunde.demo.application.ports.out.UsuarioRepositoryPort;
+import barrioFunde.demo.domain.model.CursorDonacion;
 import barrioFunde.demo.domain.model.Donacion;
+import barrioFunde.demo.domain.model.DonacionConDonante;
+import barrioFunde.demo.domain.model.EstadisticasDonante;
+import barrioFunde.demo.domain.model.FiltroDonacion;
+import barrioFunde.demo.domain.model.PaginaDonaciones;
+import barrioFunde.demo.domain.model.RankingRow;
+import barrioFunde.demo.domain.model.ResultadoFilaLote;
+import barrioFunde.demo.domain.model.ResultadoTransicion;
+import barrioFunde.demo.domain.model.TransicionPendientes;
+import barrioFunde.demo.domain.model.Usuario;
 import barrioFunde.demo.domain.model.enums.EstadoDonacion;
-import barrioFunde.demo.domain.model.enums.TipoDonacion;
 import barrioFunde.demo.domain.service.ReglasNegocioDonacion;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 public class GestionDonacionService implements
         CrearDonacionUseCase,
+        CrearDonacionesLoteUseCase,
         ConsultarDonacionUseCase,
         ActualizarDonacionUseCase,
         ObtenerRankingDonantesUseCase {
 
+    private static final int LIMITE_MAXIMO_PAGINA = 200;
+    static final int LIMITE_MAXIMO_LOTE = 10_000;
+    static final int LIMITE_MAXIMO_TRANSICION = 1_000;
+
+    // El ranking se consulta en bloques de este tamaño para compartir entradas de caché
+    static final int TAMANO_BLOQUE_RANKING = 50;
+    static final int LIMITE_MAXIMO_RANKING = 500;
+
     private final DonacionRepositoryPort repositoryPort;
+    private final UsuarioRepositoryPort usuarioRepositoryPort;
+    private final TablaPosicionesDonantes tablaPosiciones;
 
     // ========== CREAR ==========
 
     @Override
     public Donacion crear(Donacion donacion) {
+        OperacionDonacionEvent evento = OperacionDonacionEvent.iniciar(OperacionDonacionEvent.CREAR);
+        try {
+            Donacion creada = guardarNueva(donacion);
+            evento.exitosa(creada.getId(), creada.getUsuarioId());
+            return creada;
+        } finally {
+            evento.registrar();
+        }
+    }
+
+    private Donacion guardarNueva(Donacion donacion) {
         // 1. Validar modelo de dominio
         donacion.validar();
 
-        // 2. Validar que no tenga donación pendiente
-        boolean tieneDonacionPendiente = repositoryPort
-                .existeDonacionPendientePorUsuario(donacion.getUsuarioId());
-        ReglasNegocioDonacion.validarDonacionNoDuplicada(tieneDonacionPendiente);
-
-        // 3. Establecer valores por defecto
+        // 2. Establecer valores por defecto
         if (donacion.getEstado() == null) {
             donacion.setEstado(EstadoDonacion.PENDIENTE);
         }
@@ -51,105 +89,447 @@ public class GestionDonacionService implements
             donacion.setFechaDonacion(LocalDateTime.now());
         }
 
-        // 4. Guardar
+        // 3. Guardar: "una pendiente por usuario" la garantiza el índice único parcial
+        // (uk_donaciones_pendiente_usuario); el repositorio traduce la violación
+        // en la IllegalStateException de ReglasNegocioDonacion
         return repositoryPort.guardar(donacion);
     }
 
+    // Mismas reglas que crear, pero la existencia de usuarios y las pendientes
+    // se consultan una vez para todo el lote en lugar de una vez por fila
+    @Transactional
+    @Override
+    public List<ResultadoFilaLote> crearLote(List<Donacion> donaciones) {
+        if (donaciones.size() > LIMITE_MAXIMO_LOTE) {
+            throw new IllegalArgumentException("El lote no puede superar " + LIMITE_MAXIMO_LOTE + " donaciones");
+        }
+
+        ResultadoFilaLote[] resultados = new ResultadoFilaLote[donaciones.size()];
+
+        // 1. Validar modelo de dominio fila por fila
+        Set<Long> usuarioIds = new HashSet<>();
+        for (int fila = 0; fila < donaciones.size(); fila++) {
+            try {
+                donaciones.get(fila).validar();
+                usuarioIds.add(donaciones.get(fila).getUsuarioId());
+            } catch (IllegalArgumentException e) {
+                resultados[fila] = ResultadoFilaLote.rechazada(fila, e.getMessage());
+            }
+        }
+
+        // 2. Usuarios existentes y con pendiente: una consulta cada uno para todo el lote
+        Set<Long> usuariosExistentes = usuarioRepositoryPort.buscarPorIds(usuarioIds).stream()
+                .map(Usuario::getId)
+                .collect(Collectors.toSet());
+        Set<Long> conPendiente = new HashSet<>(repositoryPort.buscarUsuariosConDonacionPendiente(usuariosExistentes));
+
+        // 3. Reglas en orden de fila: una pendiente del mismo lote cuenta para las siguientes
+        List<Donacion> aGuardar = new ArrayList<>();
+        List<Integer> filasAGuardar = new ArrayList<>();
+        for (int fila = 0; fila < donaciones.size(); fila++) {
+            if (resultados[fila] != null) {
+                continue;
+            }
+            Donacion donacion = donaciones.get(fila);
+
+            if (!usuariosExistentes.contains(donacion.getUsuarioId())) {
+                resultados[fila] = ResultadoFilaLote.rechazada(fila, "Usuario no encontrado");
+                continue;
+            }
+            try {
+                ReglasNegocioDonacion.validarDonacionNoDuplicada(conPendiente.contains(donacion.getUsuarioId()));
+            } catch (IllegalStateException e) {
+                resultados[fila] = ResultadoFilaLote.rechazada(fila, e.getMessage());
+                continue;
+            }
+
+            if (donacion.getEstado() == null) {
+                donacion.setEstado(EstadoDonacion.PENDIENTE);
+            }
+            if (donacion.getFechaDonacion() == null) {
+                donacion.setFechaDonacion(LocalDateTime.now());
+            }
+            if (donacion.getEstado() == EstadoDonacion.PENDIENTE) {
+                conPendiente.add(donacion.getUsuarioId());
+            }
+
+            aGuardar.add(donacion);
+            filasAGuardar.add(fila);
+        }
+
+        // 4. Guardar en lotes JDBC
+        if (!aGuardar.isEmpty()) {
+            List<Donacion> guardadas = repositoryPort.guardarLote(aGuardar);
+            for (int i = 0; i < guardadas.size(); i++) {
+                int fila = filasAGuardar.get(i);
+                resultados[fila] = ResultadoFilaLote.creada(fila, guardadas.get(i).getId());
+            }
+        }
+
+        return List.of(resultados);
+    }
+
     // ========== CONSULTAR ==========
+    // Transacciones de solo lectura: se atienden desde la réplica y Hibernate
+    // no guarda la copia de cada entidad para el dirty checking
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Donacion> buscarPorId(Long id) {
         return repositoryPort.buscarPorId(id);
     }
 
     @Override
-    public List<Donacion> listarTodas() {
-        return repositoryPort.buscarTodas();
+    @Transactional(readOnly = true)
+    public Optional<DonacionConDonante> buscarPorIdConDonante(Long id) {
+        return repositoryPort.buscarPorIdConDonante(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Donacion> buscarPorUsuario(Long usuarioId) {
         return repositoryPort.buscarPorUsuarioId(usuarioId);
     }
 
     @Override
-    public List<Donacion> buscarPorEstado(EstadoDonacion estado) {
-        return repositoryPort.buscarPorEstado(estado);
+    @Transactional(readOnly = true)
+    public BigDecimal calcularTotalDonado(Long usuarioId) {
+        return repositoryPort.calcularTotalDonadoPorUsuario(usuarioId);
     }
 
     @Override
-    public List<Donacion> buscarPorTipo(TipoDonacion tipo) {
-        return repositoryPort.buscarPorTipo(tipo);
-    }
+    @Transactional(readOnly = true)
+    public PaginaDonaciones listarPagina(FiltroDonacion filtro, CursorDonacion cursor, int limite) {
+        int tamano = Math.min(Math.max(limite, 1), LIMITE_MAXIMO_PAGINA);
+
+        // Se pide una fila extra para saber si existe una página siguiente
+        List<DonacionConDonante> donaciones = repositoryPort.buscarPagina(
+                filtro != null ? filtro : FiltroDonacion.todas(),
+                cursor,
+                tamano + 1
+        );
+
+        if (donaciones.size() <= tamano) {
+            return new PaginaDonaciones(donaciones, null);
+        }
 
-    @Override
-    public List<Donacion> buscarPorFechas(LocalDateTime fechaInicio, LocalDateTime fechaFin) {
-        return repositoryPort.buscarPorFechas(fechaInicio, fechaFin);
+        List<DonacionConDonante> pagina = donaciones.subList(0, tamano);
+        return new PaginaDonaciones(
+                List.copyOf(pagina),
+                CursorDonacion.despuesDe(pagina.get(tamano - 1).donacion())
+        );
     }
 
     @Override
-    public BigDecimal calcularTotalDonado(Long usuarioId) {
-        return repositoryPort.calcularTotalDonadoPorUsuario(usuarioId);
+    @Transactional(readOnly = true)
+    public void exportarPorFechas(LocalDateTime fechaInicio, LocalDateTime fechaFin,
+                                  BiConsumer<Donacion, Usuario> consumidor) {
+        if (fechaInicio.isAfter(fechaFin)) {
+            throw new IllegalArgumentException("La fecha de inicio debe ser anterior a la fecha fin");
+        }
+
+        repositoryPort.recorrerPorFechas(fechaInicio, fechaFin, consumidor);
     }
 
     // ========== ACTUALIZAR ==========
     @CacheEvict(value = "rankingDonantes", allEntries = true)
+    @Transactional
     @Override
     public void confirmar(Long donacionId, String notasAdmin) {
-        Donacion donacion = repositoryPort.buscarPorId(donacionId)
-                .orElseThrow(() -> new IllegalArgumentException("Donación no encontrada"));
+        OperacionDonacionEvent evento = OperacionDonacionEvent.iniciar(OperacionDonacionEvent.CONFIRMAR);
+        try {
+            Donacion confirmada = confirmarPendiente(donacionId, notasAdmin);
+            evento.exitosa(confirmada.getId(), confirmada.getUsuarioId());
+        } finally {
+            evento.registrar();
+        }
+    }
+
+    private Donacion confirmarPendiente(Long donacionId, String notasAdmin) {
+        String notas = normalizarNotas(notasAdmin);
+
+        // Una sola sentencia: cambia el estado solo si sigue pendiente y devuelve la fila
+        Donacion donacion = repositoryPort
+                .cambiarEstadoSiPendiente(donacionId, EstadoDonacion.CONFIRMADA, LocalDateTime.now(), notas)
+                .orElseThrow(() -> transicionRechazada(donacionId, Donacion::confirmar));
+
+        // Totales por donante en la misma transacción que el cambio de estado
+        repositoryPort.acumularConfirmacion(donacion);
+
+        if (donacion.esMonetaria()) {
+            registrarEnTablaPosiciones(List.of(donacion));
+        }
+        return donacion;
+    }
+
+    // La caché del ranking se invalida una vez por lote, no por donación
+    @CacheEvict(value = "rankingDonantes", allEntries = true)
+    @Transactional
+    @Override
+    public List<ResultadoTransicion> confirmarLote(List<Long> donacionIds, String notasAdmin) {
+        List<Long> ids = validarLoteIds(donacionIds);
+        List<Donacion> confirmadas = repositoryPort.cambiarEstadoPendientes(
+                ids, EstadoDonacion.CONFIRMADA, LocalDateTime.now(), normalizarNotas(notasAdmin));
+
+        registrarConfirmaciones(confirmadas);
+        return resultadosPorId(ids, confirmadas, Donacion::confirmar);
+    }
+
+    @Transactional
+    @Override
+    public List<ResultadoTransicion> rechazarLote(List<Long> donacionIds, String motivo) {
+        List<Long> ids = validarLoteIds(donacionIds);
+        List<Donacion> rechazadas = repositoryPort.cambiarEstadoPendientes(
+                ids, EstadoDonacion.RECHAZADA, null, motivo);
+
+        return resultadosPorId(ids, rechazadas, donacion -> donacion.rechazar(motivo));
+    }
+
+    @CacheEvict(value = "rankingDonantes", allEntries = true)
+    @Transactional
+    @Override
+    public TransicionPendientes confirmarPendientes(FiltroDonacion filtro, String notasAdmin) {
+        validarFiltroPendientes(filtro);
+        List<Donacion> confirmadas = repositoryPort.cambiarEstadoPendientes(
+                filtro, EstadoDonacion.CONFIRMADA, LocalDateTime.now(),
+                normalizarNotas(notasAdmin), LIMITE_MAXIMO_TRANSICION);
+
+        registrarConfirmaciones(confirmadas);
+        return transicionPendientes(filtro, confirmadas);
+    }
+
+    @Transactional
+    @Override
+    public TransicionPendientes rechazarPendientes(FiltroDonacion filtro, String motivo) {
+        validarFiltroPendientes(filtro);
+        List<Donacion> rechazadas = repositoryPort.cambiarEstadoPendientes(
+                filtro, EstadoDonacion.RECHAZADA, null, motivo, LIMITE_MAXIMO_TRANSICION);
+
+        return transicionPendientes(filtro, rechazadas);
+    }
+
+    // Igual que los lotes por id, cada llamada cambia como máximo LIMITE_MAXIMO_TRANSICION filas;
+    // si quedan pendientes que cumplen el filtro (también las que se saltaron por estar
+    // bloqueadas por otra transición) el cliente repite la operación
+    private TransicionPendientes transicionPendientes(FiltroDonacion filtro, List<Donacion> cambiadas) {
+        List<ResultadoTransicion> resultados = cambiadas.stream()
+                .map(donacion -> ResultadoTransicion.aplicada(donacion.getId(), donacion.getEstado()))
+                .collect(Collectors.toList());
+        boolean hayMas = repositoryPort.existenPendientes(filtro);
+        return new TransicionPendientes(resultados, hayMas);
+    }
 
-        // Método de dominio
-        donacion.confirmar();
+    private static String normalizarNotas(String notasAdmin) {
+        return notasAdmin != null && !notasAdmin.trim().isEmpty() ? notasAdmin : null;
+    }
 
-        if (notasAdmin != null && !notasAdmin.trim().isEmpty()) {
-            donacion.setNotas(notasAdmin);
+    private static List<Long> validarLoteIds(List<Long> donacionIds) {
+        if (donacionIds == null || donacionIds.isEmpty()) {
+            throw new IllegalArgumentException("Debe indicar al menos una donación");
+        }
+        List<Long> ids = donacionIds.stream().distinct().toList();
+        if (ids.size() > LIMITE_MAXIMO_TRANSICION) {
+            throw new IllegalArgumentException(
+                    "No se pueden procesar más de " + LIMITE_MAXIMO_TRANSICION + " donaciones por operación");
         }
+        return ids;
+    }
 
-        repositoryPort.guardar(donacion);
+    // Un filtro vacío cambiaría todas las pendientes: se exige al menos un criterio
+    private static void validarFiltroPendientes(FiltroDonacion filtro) {
+        if (filtro == null || (filtro.getTipo() == null
+                && filtro.getFechaInicio() == null && filtro.getFechaFin() == null)) {
+            throw new IllegalArgumentException("Indique tipo o rango de fechas para seleccionar las pendientes");
+        }
+    }
+
+    /**
+     * Totales y tabla de posiciones para un grupo de confirmaciones ya aplicadas
+     */
+    private void registrarConfirmaciones(List<Donacion> confirmadas) {
+        if (confirmadas.isEmpty()) {
+            return;
+        }
+
+        repositoryPort.acumularConfirmaciones(confirmadas);
+        registrarEnTablaPosiciones(confirmadas.stream()
+                .filter(Donacion::esMonetaria)
+                .collect(Collectors.toList()));
     }
 
+    /**
+     * Un resultado por id: las que no cambiaron se cargan en una sola consulta
+     * para responder con el error que daría el método de dominio
+     */
+    private List<ResultadoTransicion> resultadosPorId(List<Long> ids, List<Donacion> cambiadas,
+                                                      Consumer<Donacion> transicion) {
+        Map<Long, Donacion> porId = cambiadas.stream()
+                .collect(Collectors.toMap(Donacion::getId, Function.identity()));
+
+        List<Long> sinCambio = ids.stream().filter(id -> !porId.containsKey(id)).toList();
+        Map<Long, Donacion> actuales = sinCambio.isEmpty() ? Map.of() : repositoryPort.buscarPorIds(sinCambio).stream()
+                .collect(Collectors.toMap(Donacion::getId, Function.identity()));
+
+        return ids.stream()
+                .map(id -> {
+                    if (porId.containsKey(id)) {
+                        return ResultadoTransicion.aplicada(id, porId.get(id).getEstado());
+                    }
+                    Donacion actual = actuales.get(id);
+                    if (actual == null) {
+                        return ResultadoTransicion.fallida(id, "Donación no encontrada");
+                    }
+                    return ResultadoTransicion.fallida(id, errorDeTransicion(actual, transicion).getMessage());
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Suma las donaciones confirmadas a la tabla de posiciones en memoria.
+     * Solo se consultan (en una consulta) los usuarios que aún no están en la tabla.
+     * La tabla se toca recién después del commit: si la transacción se revierte,
+     * el ranking no muestra una confirmación que nunca existió. Desde antes del
+     * commit hasta sumarla no puede correr una recarga (ver TablaPosicionesDonantes),
+     * así que ni una recarga en curso ni el arranque pierden la confirmación.
+     */
+    private void registrarEnTablaPosiciones(List<Donacion> donaciones) {
+        if (donaciones.isEmpty()) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            tablaPosiciones.iniciarConfirmacion();
+            try {
+                sumarEnTablaPosiciones(donaciones, donantesFueraDeLaTabla(donaciones));
+            } finally {
+                tablaPosiciones.terminarConfirmacion();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean iniciada;
+            private Map<Long, Usuario> usuarios = Map.of();
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                tablaPosiciones.iniciarConfirmacion();
+                iniciada = true;
+                usuarios = donantesFueraDeLaTabla(donaciones);
+            }
+
+            @Override
+            public void afterCommit() {
+                sumarEnTablaPosiciones(donaciones, usuarios);
+            }
+
+            @Override
+            public void afterCompletion(int estado) {
+                if (iniciada) {
+                    tablaPosiciones.terminarConfirmacion();
+                }
+            }
+        });
+    }
+
+    private Map<Long, Usuario> donantesFueraDeLaTabla(List<Donacion> donaciones) {
+        if (!tablaPosiciones.isCargada()) {
+            return Map.of();
+        }
+        Set<Long> nuevos = donaciones.stream()
+                .map(Donacion::getUsuarioId)
+                .filter(usuarioId -> !tablaPosiciones.contiene(usuarioId))
+                .collect(Collectors.toSet());
+        return nuevos.isEmpty() ? Map.of() : usuarioRepositoryPort.buscarPorIds(nuevos).stream()
+                .collect(Collectors.toMap(Usuario::getId, Function.identity()));
+    }
+
+    // Sin tabla cargada no se suma nada: la confirmación ya está en la carga que viene
+    private void sumarEnTablaPosiciones(List<Donacion> donaciones, Map<Long, Usuario> usuarios) {
+        if (!tablaPosiciones.isCargada()) {
+            return;
+        }
+        for (Donacion donacion : donaciones) {
+            Usuario usuario = usuarios.get(donacion.getUsuarioId());
+            tablaPosiciones.sumarDonacion(
+                    donacion.getUsuarioId(),
+                    usuario != null ? usuario.getNombre() : null,
+                    usuario != null ? usuario.getEmail() : null,
+                    donacion.getMonto()
+            );
+        }
+    }
+
+    @Transactional
     @Override
     public void rechazar(Long donacionId, String motivo) {
-        Donacion donacion = repositoryPort.buscarPorId(donacionId)
-                .orElseThrow(() -> new IllegalArgumentException("Donación no encontrada"));
+        repositoryPort.cambiarEstadoSiPendiente(donacionId, EstadoDonacion.RECHAZADA, null, motivo)
+                .orElseThrow(() -> transicionRechazada(donacionId, donacion -> donacion.rechazar(motivo)));
+    }
 
-        // Método de dominio
-        donacion.rechazar(motivo);
+    /**
+     * La transición no aplicó: se carga la donación solo en este caso para
+     * responder con el mismo error que daría el método de dominio
+     */
+    private RuntimeException transicionRechazada(Long donacionId, Consumer<Donacion> transicion) {
+        Donacion actual = repositoryPort.buscarPorId(donacionId)
+                .orElseThrow(() -> new IllegalArgumentException("Donación no encontrada"));
+        return errorDeTransicion(actual, transicion);
+    }
 
-        repositoryPort.guardar(donacion);
+    private static IllegalStateException errorDeTransicion(Donacion actual, Consumer<Donacion> transicion) {
+        try {
+            transicion.accept(actual);
+        } catch (IllegalStateException e) {
+            return e;
+        }
+        return new IllegalStateException("La donación ya no está pendiente");
     }
 
     // ========== RANKING ==========
 
-    // Cachea el ranking por 1 hora
-    @Cacheable(value = "rankingDonantes", key = "#limite")
+    // Se responde desde la tabla en memoria; mientras no esté cargada se consulta
+    // el repositorio, que cachea cada bloque (app.cache.caches[rankingDonantes])
     @Override
-    public List<Map<String, Object>> obtenerTopDonantes(int limite) {
-        return repositoryPort.obtenerTopDonantesPorMonto(limite);
+    @Transactional(readOnly = true)
+    public List<RankingRow> obtenerTopDonantes(int limite) {
+        int tamano = Math.min(Math.max(limite, 1), LIMITE_MAXIMO_RANKING);
+
+        if (tablaPosiciones.isCargada()) {
+            return tablaPosiciones.top(tamano).stream()
+                    .map(RankingRow::de)
+                    .collect(Collectors.toList());
+        }
+
+        List<RankingRow> bloque = repositoryPort.obtenerTopDonantesPorMonto(normalizarLimiteRanking(tamano));
+
+        return bloque.size() <= tamano ? bloque : List.copyOf(bloque.subList(0, tamano));
     }
 
+    /**
+     * Redondea el límite al siguiente múltiplo de TAMANO_BLOQUE_RANKING
+     * Así limite=10 y limite=11 se sirven desde el mismo top-50 cacheado
+     */
+    static int normalizarLimiteRanking(int limite) {
+        int bloques = (limite + TAMANO_BLOQUE_RANKING - 1) / TAMANO_BLOQUE_RANKING;
+        return Math.max(bloques, 1) * TAMANO_BLOQUE_RANKING;
+    }
+
+    // Una sola consulta: suma y cantidad salen de las mismas filas (confirmadas
+    // monetarias), así el promedio es consistente; los percentiles los calcula la BD
     @Override
+    @Transactional(readOnly = true)
     public Map<String, Object> obtenerEstadisticasDonante(Long usuarioId) {
-        BigDecimal totalDonado = repositoryPort.calcularTotalDonadoPorUsuario(usuarioId);
-        Long cantidadDonaciones = repositoryPort.contarDonacionesPorUsuario(usuarioId);
+        EstadisticasDonante resumen = repositoryPort.obtenerEstadisticasDonante(usuarioId);
 
         Map<String, Object> estadisticas = new HashMap<>();
         estadisticas.put("usuarioId", usuarioId);
-        estadisticas.put("totalDonado", totalDonado);
-        estadisticas.put("cantidadDonaciones", cantidadDonaciones);
-
-        if (cantidadDonaciones > 0) {
-            BigDecimal promedio = totalDonado.divide(
-                    new BigDecimal(cantidadDonaciones),
-                    2,
-                    BigDecimal.ROUND_HALF_UP
-            );
-            estadisticas.put("promediodonacion", promedio);
-        } else {
-            estadisticas.put("promedioDonacion", BigDecimal.ZERO);
-        }
-
+        estadisticas.put("totalDonado", resumen.totalDonado());
+        estadisticas.put("cantidadDonaciones", resumen.cantidadDonaciones());
+        estadisticas.put("promedioDonacion", resumen.promedio() != null ? resumen.promedio() : BigDecimal.ZERO);
+        estadisticas.put("montoMinimo", resumen.montoMinimo());
+        estadisticas.put("montoMaximo", resumen.montoMaximo());
+        estadisticas.put("mediana", resumen.mediana());
+        estadisticas.put("percentil90", resumen.percentil90());
         return estadisticas;
     }
 }
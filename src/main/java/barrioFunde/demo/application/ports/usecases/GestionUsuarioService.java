@@ -3,15 +3,22 @@ package barrioFunde.demo.application.ports.usecases;
 import barrioFunde.demo.application.ports.in.ActualizarUsuarioUseCase;
 import barrioFunde.demo.application.ports.in.ConsultarUsuarioUseCase;
 import barrioFunde.demo.application.ports.in.CrearUsuarioUseCase;
+import barrioFunde.demo.application.ports.out.Auth.RevocacionTokenPort;
 import barrioFunde.demo.application.ports.out.PasswordEncoderPort;
 import barrioFunde.demo.application.ports.out.UsuarioRepositoryPort;
+import barrioFunde.demo.domain.model.PaginaUsuarios;
 import barrioFunde.demo.domain.model.Usuario;
+import barrioFunde.demo.domain.model.enums.ModoBusquedaUsuario;
 import barrioFunde.demo.domain.model.enums.RolUsuario;
 import barrioFunde.demo.domain.service.ReglasNegocioUsuario;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 /**
@@ -28,12 +35,20 @@ public class GestionUsuarioService implements
 
     private final UsuarioRepositoryPort repositoryPort;
     private final PasswordEncoderPort passwordEncoderPort;
+    private final RevocacionTokenPort revocacionTokenPort;
+
+    static final int LIMITE_MAXIMO_BUSQUEDA = 50;
+    // Más allá de esto el OFFSET deja de ser barato y los resultados ya no son útiles
+    static final int MAXIMO_RESULTADOS_BUSQUEDA = 1_000;
+    static final int LONGITUD_MAXIMA_TERMINO = 150;
+    static final int LONGITUD_MINIMA_SIMILITUD = 3;
 
     // ============================================================
     // IMPLEMENTACIÓN DE CrearUsuarioUseCase
     // ============================================================
 
     @Override
+    @Transactional
     public Usuario crear(Usuario usuario) {
         log.info("Creando usuario con email: {}", usuario.getEmail());
 
@@ -69,48 +84,104 @@ public class GestionUsuarioService implements
     // ============================================================
     // IMPLEMENTACIÓN DE ConsultarUsuarioUseCase
     // ============================================================
+    // Solo lectura, como las consultas de donaciones: réplica y sin dirty checking
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Usuario> buscarPorId(Long id) {
         log.debug("Buscando usuario con ID: {}", id);
         return repositoryPort.buscarPorId(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<Usuario> buscarPorIds(Collection<Long> ids) {
+        log.debug("Buscando {} usuarios por ID", ids.size());
+        return repositoryPort.buscarPorIds(ids);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Optional<Usuario> buscarPorEmail(String email) {
         log.debug("Buscando usuario con email: {}", email);
         return repositoryPort.buscarPorEmail(email);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Usuario> obtenerTodos() {
         log.debug("Obteniendo todos los usuarios");
         return repositoryPort.obtenerTodos();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Usuario> obtenerPorRol(RolUsuario rol) {
         log.debug("Obteniendo usuarios con rol: {}", rol);
         return repositoryPort.obtenerPorRol(rol);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Usuario> obtenerActivos() {
         log.debug("Obteniendo usuarios activos");
         return repositoryPort.obtenerPorActivo(true);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Usuario> buscarPorNombre(String nombre) {
         log.debug("Buscando usuarios con nombre: {}", nombre);
         return repositoryPort.buscarPorNombre(nombre);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaUsuarios buscar(String termino, ModoBusquedaUsuario modo, int pagina, int tamano) {
+        if (termino == null || termino.isBlank()) {
+            throw new IllegalArgumentException("El término de búsqueda es obligatorio");
+        }
+        String normalizado = termino.strip().toLowerCase(Locale.ROOT);
+        if (normalizado.length() > LONGITUD_MAXIMA_TERMINO) {
+            throw new IllegalArgumentException(
+                    "El término de búsqueda no puede superar " + LONGITUD_MAXIMA_TERMINO + " caracteres");
+        }
+
+        int tamanoEfectivo = Math.min(Math.max(tamano, 1), LIMITE_MAXIMO_BUSQUEDA);
+        int paginaEfectiva = Math.max(pagina, 0);
+        int desde = paginaEfectiva * tamanoEfectivo;
+        if (desde >= MAXIMO_RESULTADOS_BUSQUEDA) {
+            throw new IllegalArgumentException(
+                    "La búsqueda solo recorre los primeros " + MAXIMO_RESULTADOS_BUSQUEDA + " resultados, refine el término");
+        }
+        log.debug("Buscando usuarios ({}) con término: {}", modo, normalizado);
+
+        // Con menos de 3 letras no hay trigramas que comparar: se autocompleta por prefijo
+        boolean porPrefijo = modo == ModoBusquedaUsuario.PREFIJO
+                || normalizado.length() < LONGITUD_MINIMA_SIMILITUD;
+
+        // Se pide uno de más para saber si hay otra página sin un COUNT(*)
+        List<Usuario> usuarios = porPrefijo
+                ? repositoryPort.buscarPorPrefijoNombre(normalizado, desde, tamanoEfectivo + 1)
+                : repositoryPort.buscarPorSimilitud(normalizado, desde, tamanoEfectivo + 1);
+
+        boolean hayMas = usuarios.size() > tamanoEfectivo;
+        return new PaginaUsuarios(
+                hayMas ? usuarios.subList(0, tamanoEfectivo) : usuarios,
+                paginaEfectiva,
+                tamanoEfectivo,
+                hayMas);
+    }
+
     // ============================================================
     // IMPLEMENTACIÓN DE ActualizarUsuarioUseCase
     // ============================================================
+    // Transacción de escritura: las lecturas previas (version, rol, estado) salen
+    // de la primaria; con la réplica atrasada darían 409 falsos
 
     @Override
+    @Transactional
+    @CacheEvict(value = "principales", key = "#id")
     public Usuario actualizar(Long id, Usuario usuarioActualizado) {
         log.info("Actualizando usuario con ID: {}", id);
 
@@ -147,6 +218,8 @@ public class GestionUsuarioService implements
     }
 
     @Override
+    @Transactional
+    @CacheEvict(value = "principales", key = "#id")
     public Usuario cambiarRol(Long id, RolUsuario nuevoRol) {
         log.info("Cambiando rol del usuario {} a {}", id, nuevoRol);
 
@@ -159,10 +232,16 @@ public class GestionUsuarioService implements
 
         // 3. Marcar actualización y guardar
         usuario.marcarFechaActualizacion();
-        return repositoryPort.guardar(usuario);
+        Usuario usuarioGuardado = repositoryPort.guardar(usuario);
+
+        // 4. Los tokens emitidos con el rol anterior dejan de valer
+        revocacionTokenPort.revocar(id);
+        return usuarioGuardado;
     }
 
     @Override
+    @Transactional
+    @CacheEvict(value = "principales", key = "#id")
     public Usuario cambiarEstado(Long id, Boolean activo) {
         log.info("Cambiando estado del usuario {} a {}", id, activo);
 
@@ -185,10 +264,16 @@ public class GestionUsuarioService implements
 
         // 4. Marcar actualización y guardar
         usuario.marcarFechaActualizacion();
-        return repositoryPort.guardar(usuario);
+        Usuario usuarioGuardado = repositoryPort.guardar(usuario);
+
+        // 5. Los tokens emitidos con el estado anterior dejan de valer
+        revocacionTokenPort.revocar(id);
+        return usuarioGuardado;
     }
 
     @Override
+    @Transactional
+    @CacheEvict(value = "principales", key = "#id")
     public void eliminar(Long id) {
         log.info("Eliminando (desactivando) usuario con ID: {}", id);
         cambiarEstado(id, false);
@@ -0,0 +1,170 @@
+package barrioFunde.demo.application.ports.usecases;
+
+import barrioFunde.demo.domain.model.TotalDonante;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Tabla de posiciones de donantes mantenida en memoria
+ *
+ * Se carga al arrancar con los acumulados de la base de datos, se actualiza de
+ * forma incremental con cada donación monetaria confirmada en este nodo y se
+ * recarga periódicamente para incorporar las confirmadas en otros nodos.
+ * Solo sirve las lecturas del top N, en O(log n + N) sin consultar la base de
+ * datos; las estadísticas de un donante se leen de la base de datos.
+ *
+ * Las confirmaciones son poco frecuentes frente a las lecturas, por eso
+ * se protege con un ReadWriteLock: muchas lecturas en paralelo, escrituras exclusivas.
+ *
+ * Un segundo ReadWriteLock ordena las recargas con los commits de confirmaciones:
+ * cada confirmación lo toma compartido desde antes de su commit hasta que la sumó
+ * a la tabla, y recargar lo toma exclusivo mientras lee los totales. Así toda
+ * confirmación queda o en la lectura o aplicada después de ella, nunca perdida
+ * ni contada dos veces.
+ */
+public class TablaPosicionesDonantes {
+
+    // Mayor total primero; a igual total, menor usuarioId primero (orden estable)
+    private static final Comparator<TotalDonante> ORDEN_RANKING = Comparator
+            .comparing(TotalDonante::getTotalDonado, Comparator.reverseOrder())
+            .thenComparing(TotalDonante::getUsuarioId);
+
+    private final Map<Long, TotalDonante> porUsuario = new HashMap<>();
+    private final TreeSet<TotalDonante> ordenados = new TreeSet<>(ORDEN_RANKING);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReadWriteLock cargas = new ReentrantReadWriteLock();
+
+    private volatile boolean cargada = false;
+
+    /**
+     * Reemplaza el contenido de la tabla con los acumulados dados
+     */
+    public void cargar(Collection<TotalDonante> totales) {
+        lock.writeLock().lock();
+        try {
+            porUsuario.clear();
+            ordenados.clear();
+            for (TotalDonante total : totales) {
+                TotalDonante copia = copiar(total);
+                porUsuario.put(copia.getUsuarioId(), copia);
+                ordenados.add(copia);
+            }
+            cargada = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Lee los totales y reemplaza la tabla sin que ninguna confirmación haga commit en el medio
+     * @return Cantidad de donantes cargados
+     */
+    public int recargar(Supplier<? extends Collection<TotalDonante>> lectura) {
+        cargas.writeLock().lock();
+        try {
+            Collection<TotalDonante> totales = lectura.get();
+            cargar(totales);
+            return totales.size();
+        } finally {
+            cargas.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Se llama antes del commit de una confirmación; hasta terminarConfirmacion
+     * no empieza ninguna recarga (y si hay una en curso, espera a que termine)
+     */
+    public void iniciarConfirmacion() {
+        cargas.readLock().lock();
+    }
+
+    public void terminarConfirmacion() {
+        cargas.readLock().unlock();
+    }
+
+    /**
+     * Indica si la tabla ya fue cargada y puede responder consultas
+     */
+    public boolean isCargada() {
+        return cargada;
+    }
+
+    public boolean contiene(Long usuarioId) {
+        lock.readLock().lock();
+        try {
+            return porUsuario.containsKey(usuarioId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Suma una donación confirmada al acumulado del donante
+     * nombre/email solo se usan si el donante aún no está en la tabla
+     */
+    public void sumarDonacion(Long usuarioId, String nombre, String email, BigDecimal monto) {
+        lock.writeLock().lock();
+        try {
+            TotalDonante actual = porUsuario.get(usuarioId);
+            TotalDonante nuevo;
+
+            if (actual == null) {
+                nuevo = new TotalDonante(usuarioId, nombre, email, monto, 1L);
+            } else {
+                // Hay que sacarlo del TreeSet antes de cambiar la clave de orden
+                ordenados.remove(actual);
+                nuevo = new TotalDonante(
+                        usuarioId,
+                        actual.getNombre(),
+                        actual.getEmail(),
+                        actual.getTotalDonado().add(monto),
+                        actual.getCantidadDonaciones() + 1
+                );
+            }
+
+            porUsuario.put(usuarioId, nuevo);
+            ordenados.add(nuevo);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Los N donantes con mayor total
+     */
+    public List<TotalDonante> top(int limite) {
+        lock.readLock().lock();
+        try {
+            List<TotalDonante> resultado = new ArrayList<>(Math.min(limite, ordenados.size()));
+            Iterator<TotalDonante> iterador = ordenados.iterator();
+            while (iterador.hasNext() && resultado.size() < limite) {
+                resultado.add(copiar(iterador.next()));
+            }
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Las entradas internas nunca salen de la tabla: modificarlas rompería el orden del TreeSet
+    private static TotalDonante copiar(TotalDonante total) {
+        return new TotalDonante(
+                total.getUsuarioId(),
+                total.getNombre(),
+                total.getEmail(),
+                total.getTotalDonado(),
+                total.getCantidadDonaciones()
+        );
+    }
+}
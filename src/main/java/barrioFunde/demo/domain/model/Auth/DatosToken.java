@@ -0,0 +1,27 @@
+package barrioFunde.demo.domain.model.Auth;
+
+import barrioFunde.demo.domain.model.enums.RolUsuario;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Datos contenidos en un token JWT ya validado (firma y expiración)
+ * Sin anotaciones de framework
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DatosToken {
+    private Long usuarioId;
+    private String email;
+    private String nombre;
+    private RolUsuario rol;
+    private LocalDateTime expiresAt;
+    // Instante de emisión (ms desde epoch), para compararlo con las revocaciones
+    private Long emitidoEn;
+}
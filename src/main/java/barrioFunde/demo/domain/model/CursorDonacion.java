@@ -0,0 +1,29 @@
+package barrioFunde.demo.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Posición dentro de un listado de donaciones ordenado por (fechaDonacion, id) descendente
+ * La siguiente página empieza justo después de esta posición (paginación keyset)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorDonacion {
+
+    private LocalDateTime fechaDonacion;
+    private Long id;
+
+    /**
+     * Cursor que apunta a la posición de una donación ya listada
+     */
+    public static CursorDonacion despuesDe(Donacion donacion) {
+        return new CursorDonacion(donacion.getFechaDonacion(), donacion.getId());
+    }
+}
@@ -30,6 +30,7 @@ public class Donacion {
     private LocalDateTime fechaDonacion;
     private LocalDateTime fechaConfirmacion;
     private String notas;                    // Notas del administrador
+    private Long version;                    // Versión leída (concurrencia optimista)
 
     // ========== MÉTODOS DE DOMINIO ==========
 
@@ -0,0 +1,11 @@
+package barrioFunde.demo.domain.model;
+
+/**
+ * Donación junto con su donante, para listados que muestran nombre y email
+ * El repositorio los lee en la misma consulta (JOIN FETCH / entity graph)
+ */
+public record DonacionConDonante(
+        Donacion donacion,
+        Usuario donante
+) {
+}
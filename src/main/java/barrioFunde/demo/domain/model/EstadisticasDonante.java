@@ -0,0 +1,20 @@
+package barrioFunde.demo.domain.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Estadísticas de las donaciones confirmadas monetarias de un donante
+ * Calculadas por la base de datos en una sola consulta; sin donaciones,
+ * totalDonado es 0, cantidadDonaciones es 0 y el resto es null
+ */
+public record EstadisticasDonante(
+        Long usuarioId,
+        BigDecimal totalDonado,
+        long cantidadDonaciones,
+        BigDecimal montoMinimo,
+        BigDecimal montoMaximo,
+        BigDecimal promedio,
+        BigDecimal mediana,
+        BigDecimal percentil90
+) {
+}
@@ -0,0 +1,33 @@
+package barrioFunde.demo.domain.model;
+
+import barrioFunde.demo.domain.model.enums.EstadoDonacion;
+import barrioFunde.demo.domain.model.enums.TipoDonacion;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Criterios opcionales para listar donaciones
+ * Un campo nulo significa "sin filtrar por ese criterio"
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FiltroDonacion {
+
+    private EstadoDonacion estado;
+    private TipoDonacion tipo;
+    private LocalDateTime fechaInicio;
+    private LocalDateTime fechaFin;
+
+    /**
+     * Filtro vacío: todas las donaciones
+     */
+    public static FiltroDonacion todas() {
+        return new FiltroDonacion();
+    }
+}
@@ -0,0 +1,28 @@
+package barrioFunde.demo.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página de donaciones con el cursor para pedir la siguiente
+ * Cada donación trae su donante: el listado no necesita otra consulta de usuarios
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaDonaciones {
+
+    private List<DonacionConDonante> donaciones;
+
+    // null cuando no hay más resultados
+    private CursorDonacion siguienteCursor;
+
+    public boolean hayMas() {
+        return siguienteCursor != null;
+    }
+}
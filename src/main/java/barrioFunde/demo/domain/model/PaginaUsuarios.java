@@ -0,0 +1,26 @@
+package barrioFunde.demo.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página de resultados de la búsqueda de usuarios, ya ordenada por relevancia
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaUsuarios {
+
+    private List<Usuario> usuarios;
+
+    // Número de página (desde 0) y tamaño efectivo, tras aplicar el límite máximo
+    private int pagina;
+    private int tamano;
+
+    private boolean hayMas;
+}
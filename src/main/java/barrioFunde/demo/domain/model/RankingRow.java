@@ -0,0 +1,37 @@
+package barrioFunde.demo.domain.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fila del ranking de donantes (confirmadas monetarias)
+ * Se construye directamente en la consulta (expresión constructora)
+ */
+public record RankingRow(
+        Long usuarioId,
+        String nombre,
+        String email,
+        BigDecimal totalDonado,
+        Long cantidadDonaciones
+) {
+
+    public static RankingRow de(TotalDonante total) {
+        return new RankingRow(
+                total.getUsuarioId(),
+                total.getNombre(),
+                total.getEmail(),
+                total.getTotalDonado(),
+                total.getCantidadDonaciones()
+        );
+    }
+
+    /**
+     * Promedio por donación redondeado a 2 decimales (0 si no hay donaciones)
+     */
+    public BigDecimal promedio() {
+        if (cantidadDonaciones == null || cantidadDonaciones == 0) {
+            return BigDecimal.ZERO;
+        }
+        return totalDonado.divide(BigDecimal.valueOf(cantidadDonaciones), 2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,20 @@
+package barrioFunde.demo.domain.model;
+
+/**
+ * Resultado de una fila de una carga masiva
+ * fila es la posición (desde 0) en la lista enviada; donacionId es null si la fila se rechazó
+ */
+public record ResultadoFilaLote(int fila, Long donacionId, String error) {
+
+    public static ResultadoFilaLote creada(int fila, Long donacionId) {
+        return new ResultadoFilaLote(fila, donacionId, null);
+    }
+
+    public static ResultadoFilaLote rechazada(int fila, String error) {
+        return new ResultadoFilaLote(fila, null, error);
+    }
+
+    public boolean exitosa() {
+        return error == null;
+    }
+}
@@ -0,0 +1,22 @@
+package barrioFunde.demo.domain.model;
+
+import barrioFunde.demo.domain.model.enums.EstadoDonacion;
+
+/**
+ * Resultado de confirmar o rechazar una donación dentro de una operación masiva
+ * estado es el nuevo estado si la transición se aplicó; error explica por qué no
+ */
+public record ResultadoTransicion(Long donacionId, EstadoDonacion estado, String error) {
+
+    public static ResultadoTransicion aplicada(Long donacionId, EstadoDonacion estado) {
+        return new ResultadoTransicion(donacionId, estado, null);
+    }
+
+    public static ResultadoTransicion fallida(Long donacionId, String error) {
+        return new ResultadoTransicion(donacionId, null, error);
+    }
+
+    public boolean exitosa() {
+        return error == null;
+    }
+}
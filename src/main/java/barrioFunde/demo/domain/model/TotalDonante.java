@@ -0,0 +1,24 @@
+package barrioFunde.demo.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Acumulado de donaciones monetarias confirmadas de un donante
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TotalDonante {
+
+    private Long usuarioId;
+    private String nombre;
+    private String email;
+    private BigDecimal totalDonado;
+    private Long cantidadDonaciones;
+}
@@ -0,0 +1,11 @@
+package barrioFunde.demo.domain.model;
+
+import java.util.List;
+
+/**
+ * Resultado de confirmar o rechazar pendientes por filtro
+ * Cada operación cambia como máximo un lote; hayMas indica que quedan pendientes
+ * que cumplen el filtro y hay que repetirla
+ */
+public record TransicionPendientes(List<ResultadoTransicion> resultados, boolean hayMas) {
+}
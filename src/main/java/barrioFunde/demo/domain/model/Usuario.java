@@ -32,6 +32,7 @@ public class Usuario {
 
     private LocalDateTime fechaRegistro;
     private LocalDateTime fechaActualizacion;
+    private Long version;   // Versión leída (concurrencia optimista)
 
     /**
      * Método de dominio: Valida que el usuario sea válido para persistir
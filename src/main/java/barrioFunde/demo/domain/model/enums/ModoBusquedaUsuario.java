@@ -0,0 +1,16 @@
+package barrioFunde.demo.domain.model.enums;
+
+public enum ModoBusquedaUsuario {
+    SIMILITUD("Por similitud en nombre o email"),
+    PREFIJO("Autocompletado por inicio del nombre");
+
+    private final String descripcion;
+
+    ModoBusquedaUsuario(String descripcion) {
+        this.descripcion = descripcion;
+    }
+
+    public String getDescripcion() {
+        return descripcion;
+    }
+}
@@ -9,10 +9,13 @@ import barrioFunde.demo.infrastructure.adapters.in.web.dto.Auth.LoginResponseDTO
 import barrioFunde.demo.infrastructure.adapters.in.web.mapper.Auth.AuthDTOMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.RejectedExecutionException;
+
 /**
  * Controlador REST para autenticación
  * Adaptador de entrada que expone los endpoints de login
@@ -53,6 +56,13 @@ public class AuthController {
                     .status(HttpStatus.FORBIDDEN)
                     .body(new ErrorResponse("Usuario inactivo", e.getMessage()));
 
+        } catch (RejectedExecutionException e) {
+            // Cola de hashing llena
+            return ResponseEntity
+                    .status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(new ErrorResponse("Servicio saturado", "Intente de nuevo en unos segundos"));
+
         } catch (Exception e) {
             return ResponseEntity
                     .status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -0,0 +1,48 @@
+package barrioFunde.demo.infrastructure.adapters.in.web;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Estadísticas de las cachés (aciertos, fallos, desalojos y tamaño)
+ * Solo para administradores
+ */
+@RestController
+@RequestMapping("/api/admin/caches")
+@RequiredArgsConstructor
+public class CacheAdminController {
+
+    private final CacheManager cacheManager;
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMINISTRADOR')")
+    public ResponseEntity<Map<String, Map<String, Object>>> obtenerEstadisticas() {
+        Map<String, Map<String, Object>> respuesta = new LinkedHashMap<>();
+
+        for (String nombre : cacheManager.getCacheNames()) {
+            if (cacheManager.getCache(nombre) instanceof CaffeineCache cache) {
+                CacheStats stats = cache.getNativeCache().stats();
+
+                Map<String, Object> estadisticas = new LinkedHashMap<>();
+                estadisticas.put("tamano", cache.getNativeCache().estimatedSize());
+                estadisticas.put("aciertos", stats.hitCount());
+                estadisticas.put("fallos", stats.missCount());
+                estadisticas.put("tasaAciertos", stats.hitRate());
+                estadisticas.put("desalojos", stats.evictionCount());
+                respuesta.put(nombre, estadisticas);
+            }
+        }
+
+        return ResponseEntity.ok(respuesta);
+    }
+}
@@ -1,28 +1,57 @@
 package barrioFunde.demo.infrastructure.adapters.in.web;
 
 import barrioFunde.demo.application.ports.in.*;
+import barrioFunde.demo.domain.model.CursorDonacion;
 import barrioFunde.demo.domain.model.Donacion;
+import barrioFunde.demo.domain.model.DonacionConDonante;
+import barrioFunde.demo.domain.model.FiltroDonacion;
+import barrioFunde.demo.domain.model.PaginaDonaciones;
+import barrioFunde.demo.domain.model.RankingRow;
+import barrioFunde.demo.domain.model.ResultadoFilaLote;
+import barrioFunde.demo.domain.model.ResultadoTransicion;
+import barrioFunde.demo.domain.model.TransicionPendientes;
 import barrioFunde.demo.domain.model.Usuario;
 import barrioFunde.demo.domain.model.enums.EstadoDonacion;
 import barrioFunde.demo.domain.model.enums.TipoDonacion;
 import barrioFunde.demo.infrastructure.adapters.in.web.dto.DonacionRequestDTO;
 import barrioFunde.demo.infrastructure.adapters.in.web.dto.DonacionResponseDTO;
+import barrioFunde.demo.infrastructure.adapters.in.web.dto.PaginaDonacionesDTO;
 import barrioFunde.demo.infrastructure.adapters.in.web.dto.RankingDonanteDTO;
+import barrioFunde.demo.infrastructure.adapters.in.web.dto.ResultadoLoteDTO;
+import barrioFunde.demo.infrastructure.adapters.in.web.dto.ResultadoTransicionLoteDTO;
+import barrioFunde.demo.infrastructure.adapters.in.web.dto.TransicionLoteDTO;
+import barrioFunde.demo.infrastructure.adapters.in.web.export.DonacionExportWriter;
+import barrioFunde.demo.infrastructure.adapters.in.web.export.FormatoExportacion;
 import barrioFunde.demo.infrastructure.adapters.in.web.mapper.DonacionDTOMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -32,10 +61,15 @@ import java.util.stream.IntStream;
 public class DonacionController {
 
     private final CrearDonacionUseCase crearDonacionUseCase;
+    private final CrearDonacionesLoteUseCase crearDonacionesLoteUseCase;
     private final ConsultarDonacionUseCase consultarDonacionUseCase;
     private final ActualizarDonacionUseCase actualizarDonacionUseCase;
     private final ObtenerRankingDonantesUseCase rankingDonantesUseCase;
     private final ConsultarUsuarioUseCase consultarUsuarioUseCase;
+    private final JsonMapper jsonMapper;
+    private final Validator validator;
+
+    private static final String TAMANO_PAGINA_DEFECTO = "50";
 
     /**
      * Obtiene el objeto Usuario directamente desde el SecurityContext.
@@ -64,6 +98,46 @@ public class DonacionController {
                         "Usuario autenticado no encontrado: " + email));
     }
 
+    /**
+     * Convierte donaciones a DTOs con los donantes que ya trajo la misma consulta
+     * (sin otra consulta de usuarios por página ni por donación)
+     */
+    private List<DonacionResponseDTO> toResponseDTOs(List<DonacionConDonante> donaciones) {
+        return donaciones.stream()
+                .map(DonacionController::toResponseDTO)
+                .collect(Collectors.toList());
+    }
+
+    private static DonacionResponseDTO toResponseDTO(DonacionConDonante fila) {
+        return DonacionDTOMapper.toResponseDTO(
+                fila.donacion(),
+                fila.donante().getNombre(),
+                fila.donante().getEmail()
+        );
+    }
+
+    /**
+     * Ejecuta el listado paginado por cursor y arma la respuesta.
+     * El cursor es opaco para el cliente: se devuelve en siguienteCursor
+     * y se reenvía tal cual en ?cursor= para pedir la página siguiente.
+     */
+    private PaginaDonacionesDTO listarPagina(FiltroDonacion filtro, String cursor, int limite) {
+        CursorDonacion posicion;
+        try {
+            posicion = DonacionDTOMapper.fromCursorToken(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+
+        PaginaDonaciones pagina = consultarDonacionUseCase.listarPagina(filtro, posicion, limite);
+
+        return PaginaDonacionesDTO.builder()
+                .donaciones(toResponseDTOs(pagina.getDonaciones()))
+                .siguienteCursor(DonacionDTOMapper.toCursorToken(pagina.getSiguienteCursor()))
+                .hayMas(pagina.hayMas())
+                .build();
+    }
+
     // ── CREATE ────────────────────────────────────────────────────────────────
 
     @PostMapping
@@ -73,7 +147,13 @@ public class DonacionController {
         Donacion donacion = DonacionDTOMapper.toDomain(dto);
         donacion.setUsuarioId(usuarioAutenticado.getId());
 
-        Donacion creada = crearDonacionUseCase.crear(donacion);
+        Donacion creada;
+        try {
+            creada = crearDonacionUseCase.crear(donacion);
+        } catch (IllegalStateException e) {
+            // Ya tiene una donación pendiente (índice único parcial)
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        }
 
         DonacionResponseDTO response = DonacionDTOMapper.toResponseDTO(
                 creada,
@@ -84,42 +164,73 @@ public class DonacionController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Carga masiva de planillas de campo (líderes y administradores).
+     * Cada fila se valida por separado: las inválidas se informan en la
+     * respuesta y no impiden guardar las demás.
+     */
+    @PostMapping("/lote")
+    @PreAuthorize("hasAnyRole('ADMINISTRADOR', 'LIDER_SOCIAL')")
+    public ResponseEntity<ResultadoLoteDTO> crearLote(@RequestBody List<DonacionRequestDTO> dtos) {
+        ResultadoFilaLote[] resultados = new ResultadoFilaLote[dtos.size()];
+        List<Donacion> validas = new ArrayList<>(dtos.size());
+        List<Integer> filasValidas = new ArrayList<>(dtos.size());
+
+        // Las restricciones del DTO (@Valid en crear) se revisan fila por fila
+        for (int fila = 0; fila < dtos.size(); fila++) {
+            Set<ConstraintViolation<DonacionRequestDTO>> violaciones = validator.validate(dtos.get(fila));
+            if (violaciones.isEmpty()) {
+                validas.add(DonacionDTOMapper.toDomain(dtos.get(fila)));
+                filasValidas.add(fila);
+            } else {
+                resultados[fila] = ResultadoFilaLote.rechazada(fila, violaciones.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+            }
+        }
+
+        List<ResultadoFilaLote> procesadas;
+        try {
+            procesadas = crearDonacionesLoteUseCase.crearLote(validas);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            // Otra pendiente de un donante del lote entró mientras se validaba: no se guardó nada
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        }
+
+        // El caso de uso numera sobre las filas válidas; se devuelve la posición original
+        for (ResultadoFilaLote resultado : procesadas) {
+            int fila = filasValidas.get(resultado.fila());
+            resultados[fila] = new ResultadoFilaLote(fila, resultado.donacionId(), resultado.error());
+        }
+
+        List<ResultadoFilaLote> filas = List.of(resultados);
+        int creadas = (int) filas.stream().filter(ResultadoFilaLote::exitosa).count();
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(ResultadoLoteDTO.builder()
+                .creadas(creadas)
+                .rechazadas(filas.size() - creadas)
+                .filas(filas)
+                .build());
+    }
+
     // ── READ ──────────────────────────────────────────────────────────────────
 
     @GetMapping("/{id}")
     public ResponseEntity<DonacionResponseDTO> buscarPorId(@PathVariable Long id) {
-        return consultarDonacionUseCase.buscarPorId(id)
-                .map(donacion -> {
-                    Usuario usuario = consultarUsuarioUseCase.buscarPorId(donacion.getUsuarioId())
-                            .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
-
-                    return ResponseEntity.ok(DonacionDTOMapper.toResponseDTO(
-                            donacion,
-                            usuario.getNombre(),
-                            usuario.getEmail()
-                    ));
-                })
+        return consultarDonacionUseCase.buscarPorIdConDonante(id)
+                .map(fila -> ResponseEntity.ok(toResponseDTO(fila)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping
-    public ResponseEntity<List<DonacionResponseDTO>> listarTodas() {
-        List<Donacion> donaciones = consultarDonacionUseCase.listarTodas();
-
-        List<DonacionResponseDTO> response = donaciones.stream()
-                .map(donacion -> {
-                    Usuario usuario = consultarUsuarioUseCase.buscarPorId(donacion.getUsuarioId())
-                            .orElse(null);
-
-                    return DonacionDTOMapper.toResponseDTO(
-                            donacion,
-                            usuario != null ? usuario.getNombre() : "Desconocido",
-                            usuario != null ? usuario.getEmail() : ""
-                    );
-                })
-                .collect(Collectors.toList());
-
-        return ResponseEntity.ok(response);
+    public ResponseEntity<PaginaDonacionesDTO> listarTodas(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = TAMANO_PAGINA_DEFECTO) int limite
+    ) {
+        return ResponseEntity.ok(listarPagina(FiltroDonacion.todas(), cursor, limite));
     }
 
     /**
@@ -162,66 +273,73 @@ public class DonacionController {
     }
 
     @GetMapping("/estado/{estado}")
-    public ResponseEntity<List<DonacionResponseDTO>> buscarPorEstado(@PathVariable EstadoDonacion estado) {
-        List<Donacion> donaciones = consultarDonacionUseCase.buscarPorEstado(estado);
-
-        List<DonacionResponseDTO> response = donaciones.stream()
-                .map(donacion -> {
-                    Usuario usuario = consultarUsuarioUseCase.buscarPorId(donacion.getUsuarioId())
-                            .orElse(null);
-
-                    return DonacionDTOMapper.toResponseDTO(
-                            donacion,
-                            usuario != null ? usuario.getNombre() : "Desconocido",
-                            usuario != null ? usuario.getEmail() : ""
-                    );
-                })
-                .collect(Collectors.toList());
-
-        return ResponseEntity.ok(response);
+    public ResponseEntity<PaginaDonacionesDTO> buscarPorEstado(
+            @PathVariable EstadoDonacion estado,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = TAMANO_PAGINA_DEFECTO) int limite
+    ) {
+        FiltroDonacion filtro = FiltroDonacion.builder().estado(estado).build();
+        return ResponseEntity.ok(listarPagina(filtro, cursor, limite));
     }
 
     @GetMapping("/tipo/{tipo}")
-    public ResponseEntity<List<DonacionResponseDTO>> buscarPorTipo(@PathVariable TipoDonacion tipo) {
-        List<Donacion> donaciones = consultarDonacionUseCase.buscarPorTipo(tipo);
-
-        List<DonacionResponseDTO> response = donaciones.stream()
-                .map(donacion -> {
-                    Usuario usuario = consultarUsuarioUseCase.buscarPorId(donacion.getUsuarioId())
-                            .orElse(null);
-
-                    return DonacionDTOMapper.toResponseDTO(
-                            donacion,
-                            usuario != null ? usuario.getNombre() : "Desconocido",
-                            usuario != null ? usuario.getEmail() : ""
-                    );
-                })
-                .collect(Collectors.toList());
-
-        return ResponseEntity.ok(response);
+    public ResponseEntity<PaginaDonacionesDTO> buscarPorTipo(
+            @PathVariable TipoDonacion tipo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = TAMANO_PAGINA_DEFECTO) int limite
+    ) {
+        FiltroDonacion filtro = FiltroDonacion.builder().tipo(tipo).build();
+        return ResponseEntity.ok(listarPagina(filtro, cursor, limite));
     }
 
     @GetMapping("/fechas")
-    public ResponseEntity<List<DonacionResponseDTO>> buscarPorFechas(
+    public ResponseEntity<PaginaDonacionesDTO> buscarPorFechas(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fin
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fin,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = TAMANO_PAGINA_DEFECTO) int limite
     ) {
-        List<Donacion> donaciones = consultarDonacionUseCase.buscarPorFechas(inicio, fin);
+        FiltroDonacion filtro = FiltroDonacion.builder().fechaInicio(inicio).fechaFin(fin).build();
+        return ResponseEntity.ok(listarPagina(filtro, cursor, limite));
+    }
 
-        List<DonacionResponseDTO> response = donaciones.stream()
-                .map(donacion -> {
-                    Usuario usuario = consultarUsuarioUseCase.buscarPorId(donacion.getUsuarioId())
-                            .orElse(null);
-
-                    return DonacionDTOMapper.toResponseDTO(
-                            donacion,
-                            usuario != null ? usuario.getNombre() : "Desconocido",
-                            usuario != null ? usuario.getEmail() : ""
-                    );
-                })
-                .collect(Collectors.toList());
+    /**
+     * Exporta todas las donaciones de un rango de fechas en NDJSON o CSV.
+     * Las filas se leen con un cursor JDBC y se escriben directamente en la
+     * respuesta, así la memoria no crece con el tamaño de la exportación.
+     */
+    @GetMapping("/exportar")
+    @PreAuthorize("hasRole('ADMINISTRADOR')")
+    public void exportarPorFechas(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fin,
+            @RequestParam(defaultValue = "NDJSON") FormatoExportacion formato,
+            HttpServletResponse response
+    ) throws IOException {
+        // Antes de escribir nada: con el encabezado ya enviado no se puede responder 400
+        if (inicio.isAfter(fin)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "La fecha de inicio debe ser anterior a la fecha fin");
+        }
 
-        return ResponseEntity.ok(response);
+        response.setContentType(formato.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"donaciones." + formato.getExtension() + "\"");
+
+        Writer salida = new BufferedWriter(
+                new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        DonacionExportWriter exportador = new DonacionExportWriter(salida, formato, jsonMapper);
+
+        exportador.escribirEncabezado();
+        consultarDonacionUseCase.exportarPorFechas(inicio, fin, (donacion, usuario) ->
+                exportador.escribir(DonacionDTOMapper.toResponseDTO(
+                        donacion,
+                        usuario.getNombre(),
+                        usuario.getEmail()
+                ))
+        );
+        salida.flush();
     }
 
     @GetMapping("/usuario/{usuarioId}/total")
@@ -238,7 +356,7 @@ public class DonacionController {
             @PathVariable Long id,
             @RequestParam(required = false) String notas
     ) {
-        actualizarDonacionUseCase.confirmar(id, notas);
+        cambiarEstado(() -> actualizarDonacionUseCase.confirmar(id, notas));
         return ResponseEntity.ok().build();
     }
 
@@ -248,17 +366,105 @@ public class DonacionController {
             @PathVariable Long id,
             @RequestParam String motivo
     ) {
-        actualizarDonacionUseCase.rechazar(id, motivo);
+        cambiarEstado(() -> actualizarDonacionUseCase.rechazar(id, motivo));
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Respuestas de una transición individual:
+     * 404 si la donación no existe; 409 si ya no está pendiente (otro administrador
+     * la procesó primero) o si cambió desde que se leyó. Un 409 no se reintenta:
+     * el cliente debe recargar la donación y decidir con su estado actual.
+     */
+    private static void cambiarEstado(Runnable transicion) {
+        try {
+            transicion.run();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (IllegalStateException | OptimisticLockingFailureException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+
+    @PatchMapping("/confirmar")
+    @PreAuthorize("hasRole('ADMINISTRADOR')")
+    public ResponseEntity<ResultadoTransicionLoteDTO> confirmarLote(@Valid @RequestBody TransicionLoteDTO dto) {
+        return ResponseEntity.ok(toResultadoTransicionDTO(
+                ejecutarTransicion(() -> actualizarDonacionUseCase.confirmarLote(dto.getIds(), dto.getNotas()))));
+    }
+
+    @PatchMapping("/rechazar")
+    @PreAuthorize("hasRole('ADMINISTRADOR')")
+    public ResponseEntity<ResultadoTransicionLoteDTO> rechazarLote(@Valid @RequestBody TransicionLoteDTO dto) {
+        if (dto.getNotas() == null || dto.getNotas().isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El motivo del rechazo es obligatorio");
+        }
+        return ResponseEntity.ok(toResultadoTransicionDTO(
+                ejecutarTransicion(() -> actualizarDonacionUseCase.rechazarLote(dto.getIds(), dto.getNotas()))));
+    }
+
+    /**
+     * Confirma las pendientes del tipo y/o rango de fechas indicado, como máximo 1000
+     * por llamada; si la respuesta trae hayMas = true hay que repetirla
+     */
+    @PatchMapping("/pendientes/confirmar")
+    @PreAuthorize("hasRole('ADMINISTRADOR')")
+    public ResponseEntity<ResultadoTransicionLoteDTO> confirmarPendientes(
+            @RequestParam(required = false) TipoDonacion tipo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fin,
+            @RequestParam(required = false) String notas
+    ) {
+        FiltroDonacion filtro = FiltroDonacion.builder().tipo(tipo).fechaInicio(inicio).fechaFin(fin).build();
+        TransicionPendientes transicion =
+                ejecutarTransicion(() -> actualizarDonacionUseCase.confirmarPendientes(filtro, notas));
+        return ResponseEntity.ok(toResultadoTransicionDTO(transicion.resultados(), transicion.hayMas()));
+    }
+
+    @PatchMapping("/pendientes/rechazar")
+    @PreAuthorize("hasRole('ADMINISTRADOR')")
+    public ResponseEntity<ResultadoTransicionLoteDTO> rechazarPendientes(
+            @RequestParam(required = false) TipoDonacion tipo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fin,
+            @RequestParam String motivo
+    ) {
+        FiltroDonacion filtro = FiltroDonacion.builder().tipo(tipo).fechaInicio(inicio).fechaFin(fin).build();
+        TransicionPendientes transicion =
+                ejecutarTransicion(() -> actualizarDonacionUseCase.rechazarPendientes(filtro, motivo));
+        return ResponseEntity.ok(toResultadoTransicionDTO(transicion.resultados(), transicion.hayMas()));
+    }
+
+    private static <T> T ejecutarTransicion(Supplier<T> transicion) {
+        try {
+            return transicion.get();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private static ResultadoTransicionLoteDTO toResultadoTransicionDTO(List<ResultadoTransicion> resultados) {
+        return toResultadoTransicionDTO(resultados, false);
+    }
+
+    private static ResultadoTransicionLoteDTO toResultadoTransicionDTO(List<ResultadoTransicion> resultados,
+                                                                       boolean hayMas) {
+        int aplicadas = (int) resultados.stream().filter(ResultadoTransicion::exitosa).count();
+        return ResultadoTransicionLoteDTO.builder()
+                .aplicadas(aplicadas)
+                .fallidas(resultados.size() - aplicadas)
+                .resultados(resultados)
+                .hayMas(hayMas)
+                .build();
+    }
+
     // ── RANKING ───────────────────────────────────────────────────────────────
 
     @GetMapping("/ranking/top")
     public ResponseEntity<List<RankingDonanteDTO>> obtenerTopDonantes(
             @RequestParam(defaultValue = "10") int limite
     ) {
-        List<Map<String, Object>> ranking = rankingDonantesUseCase.obtenerTopDonantes(limite);
+        List<RankingRow> ranking = rankingDonantesUseCase.obtenerTopDonantes(limite);
 
         List<RankingDonanteDTO> response = IntStream.range(0, ranking.size())
                 .mapToObj(i -> DonacionDTOMapper.toRankingDTO(ranking.get(i), i + 1))
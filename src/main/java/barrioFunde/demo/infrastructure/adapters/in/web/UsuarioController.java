@@ -3,8 +3,11 @@ package barrioFunde.demo.infrastructure.adapters.in.web;
 import barrioFunde.demo.application.ports.in.ActualizarUsuarioUseCase;
 import barrioFunde.demo.application.ports.in.ConsultarUsuarioUseCase;
 import barrioFunde.demo.application.ports.in.CrearUsuarioUseCase;
+import barrioFunde.demo.domain.model.PaginaUsuarios;
 import barrioFunde.demo.domain.model.Usuario;
+import barrioFunde.demo.domain.model.enums.ModoBusquedaUsuario;
 import barrioFunde.demo.domain.model.enums.RolUsuario;
+import barrioFunde.demo.infrastructure.adapters.in.web.dto.PaginaUsuariosDTO;
 import barrioFunde.demo.infrastructure.adapters.in.web.dto.UsuarioActualizacionDTO;
 import barrioFunde.demo.infrastructure.adapters.in.web.dto.UsuarioRegistroDTO;
 import barrioFunde.demo.infrastructure.adapters.in.web.dto.UsuarioResponseDTO;
@@ -12,11 +15,14 @@ import barrioFunde.demo.infrastructure.adapters.in.web.mapper.UsuarioDTOMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 /**
@@ -55,6 +61,9 @@ public class UsuarioController {
         } catch (IllegalArgumentException e) {
             log.error("Error al registrar usuario: {}", e.getMessage());
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            log.warn("Registro rechazado, servicio de hashing saturado: {}", dto.getEmail());
+            return servicioSaturado();
         } catch (Exception e) {
             log.error("Error inesperado al registrar usuario", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -128,6 +137,32 @@ public class UsuarioController {
         return ResponseEntity.ok(usuarios);
     }
 
+    /**
+     * Buscador de administración: ?q=texto&modo=SIMILITUD|PREFIJO&pagina=0&tamano=20
+     */
+    @GetMapping("/busqueda")
+    public ResponseEntity<?> buscar(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "SIMILITUD") ModoBusquedaUsuario modo,
+            @RequestParam(defaultValue = "0") int pagina,
+            @RequestParam(defaultValue = "20") int tamano) {
+        try {
+            PaginaUsuarios resultado = consultarUsuarioUseCase.buscar(q, modo, pagina, tamano);
+
+            return ResponseEntity.ok(PaginaUsuariosDTO.builder()
+                    .usuarios(resultado.getUsuarios().stream()
+                            .map(UsuarioDTOMapper::toResponseDTO)
+                            .collect(Collectors.toList()))
+                    .pagina(resultado.getPagina())
+                    .tamano(resultado.getTamano())
+                    .hayMas(resultado.isHayMas())
+                    .build());
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<?> actualizarUsuario(
             @PathVariable Long id,
@@ -143,6 +178,11 @@ public class UsuarioController {
         } catch (IllegalArgumentException e) {
             log.error("Error al actualizar usuario: {}", e.getMessage());
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            log.warn("Actualización rechazada, servicio de hashing saturado: {}", id);
+            return servicioSaturado();
+        } catch (OptimisticLockingFailureException e) {
+            return conflictoDeVersion(id);
         } catch (Exception e) {
             log.error("Error inesperado al actualizar usuario", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -160,6 +200,8 @@ public class UsuarioController {
 
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (OptimisticLockingFailureException e) {
+            return conflictoDeVersion(id);
         }
     }
 
@@ -173,6 +215,8 @@ public class UsuarioController {
 
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (OptimisticLockingFailureException e) {
+            return conflictoDeVersion(id);
         }
     }
 
@@ -189,6 +233,22 @@ public class UsuarioController {
     }
 
     // Records para respuestas
+    /**
+     * 503 cuando la cola de hashing de contraseñas está llena
+     */
+    private ResponseEntity<ErrorResponse> servicioSaturado() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse("Servicio saturado, intente de nuevo en unos segundos"));
+    }
+
+    // Otro cambio sobre el mismo usuario se guardó primero: el cliente recarga y reintenta
+    private ResponseEntity<ErrorResponse> conflictoDeVersion(Long id) {
+        log.warn("Conflicto de versión al actualizar el usuario {}", id);
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new ErrorResponse("El usuario fue modificado por otra operación, recárguelo e intente de nuevo"));
+    }
+
     private record ErrorResponse(String mensaje) {}
     private record MessageResponse(String mensaje) {}
 }
\ No newline at end of file
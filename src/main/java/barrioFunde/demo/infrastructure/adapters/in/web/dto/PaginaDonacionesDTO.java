@@ -0,0 +1,22 @@
+package barrioFunde.demo.infrastructure.adapters.in.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página de donaciones para los listados paginados por cursor
+ * siguienteCursor es opaco: el cliente lo reenvía tal cual en ?cursor=
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaDonacionesDTO {
+    private List<DonacionResponseDTO> donaciones;
+    private String siguienteCursor;
+    private Boolean hayMas;
+}
@@ -0,0 +1,22 @@
+package barrioFunde.demo.infrastructure.adapters.in.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página de la búsqueda de usuarios; el cliente pide la siguiente con ?pagina=pagina+1
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaUsuariosDTO {
+    private List<UsuarioResponseDTO> usuarios;
+    private Integer pagina;
+    private Integer tamano;
+    private Boolean hayMas;
+}
@@ -0,0 +1,22 @@
+package barrioFunde.demo.infrastructure.adapters.in.web.dto;
+
+import barrioFunde.demo.domain.model.ResultadoFilaLote;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Respuesta de la carga masiva: totales y un resultado por fila en el orden enviado
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoLoteDTO {
+    private Integer creadas;
+    private Integer rechazadas;
+    private List<ResultadoFilaLote> filas;
+}
@@ -0,0 +1,24 @@
+package barrioFunde.demo.infrastructure.adapters.in.web.dto;
+
+import barrioFunde.demo.domain.model.ResultadoTransicion;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Respuesta de confirmar/rechazar en lote: totales y el resultado de cada donación
+ * hayMas solo aplica a la transición por filtro: quedan pendientes y hay que repetirla
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoTransicionLoteDTO {
+    private Integer aplicadas;
+    private Integer fallidas;
+    private List<ResultadoTransicion> resultados;
+    private Boolean hayMas;
+}
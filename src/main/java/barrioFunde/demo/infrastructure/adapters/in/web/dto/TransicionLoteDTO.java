@@ -0,0 +1,22 @@
+package barrioFunde.demo.infrastructure.adapters.in.web.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Confirmación o rechazo masivo: ids de las donaciones y notas del administrador
+ * (en el rechazo, notas es el motivo y es obligatorio)
+ */
+@Data
+public class TransicionLoteDTO {
+
+    @NotEmpty(message = "Debe indicar al menos una donación")
+    @Size(max = 1000, message = "No se pueden procesar más de 1000 donaciones por operación")
+    private List<Long> ids;
+
+    @Size(max = 1000, message = "Las notas no pueden exceder 1000 caracteres")
+    private String notas;
+}
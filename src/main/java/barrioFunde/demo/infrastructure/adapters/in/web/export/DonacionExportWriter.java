@@ -0,0 +1,86 @@
+package barrioFunde.demo.infrastructure.adapters.in.web.export;
+
+import barrioFunde.demo.infrastructure.adapters.in.web.dto.DonacionResponseDTO;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Objects;
+
+/**
+ * Escribe donaciones una a una sobre un Writer (NDJSON o CSV)
+ * No acumula filas: cada llamada a escribir() va directo al stream de salida
+ */
+public class DonacionExportWriter {
+
+    private static final String ENCABEZADO_CSV = String.join(",",
+            "id", "usuarioId", "nombreUsuario", "emailUsuario", "tipo", "monto",
+            "descripcion", "detalleEspecies", "estado", "comprobante",
+            "fechaDonacion", "fechaConfirmacion", "notas");
+
+    private final Writer writer;
+    private final FormatoExportacion formato;
+    private final JsonMapper jsonMapper;
+
+    public DonacionExportWriter(Writer writer, FormatoExportacion formato, JsonMapper jsonMapper) {
+        this.writer = writer;
+        this.formato = formato;
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * Escribe la cabecera del archivo (solo CSV la necesita)
+     */
+    public void escribirEncabezado() {
+        if (formato == FormatoExportacion.CSV) {
+            escribirLinea(ENCABEZADO_CSV);
+        }
+    }
+
+    public void escribir(DonacionResponseDTO dto) {
+        if (formato == FormatoExportacion.NDJSON) {
+            escribirLinea(jsonMapper.writeValueAsString(dto));
+        } else {
+            escribirLinea(aCsv(dto));
+        }
+    }
+
+    private String aCsv(DonacionResponseDTO dto) {
+        return String.join(",",
+                campo(dto.getId()),
+                campo(dto.getUsuarioId()),
+                campo(dto.getNombreUsuario()),
+                campo(dto.getEmailUsuario()),
+                campo(dto.getTipo()),
+                campo(dto.getMonto()),
+                campo(dto.getDescripcion()),
+                campo(dto.getDetalleEspecies()),
+                campo(dto.getEstado()),
+                campo(dto.getComprobante()),
+                campo(dto.getFechaDonacion()),
+                campo(dto.getFechaConfirmacion()),
+                campo(dto.getNotas()));
+    }
+
+    /**
+     * Formatea un valor según RFC 4180: entre comillas si contiene separadores
+     */
+    private static String campo(Object valor) {
+        String texto = Objects.toString(valor, "");
+
+        if (texto.contains(",") || texto.contains("\"") || texto.contains("\n") || texto.contains("\r")) {
+            return "\"" + texto.replace("\"", "\"\"") + "\"";
+        }
+        return texto;
+    }
+
+    private void escribirLinea(String linea) {
+        try {
+            writer.write(linea);
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error escribiendo la exportación", e);
+        }
+    }
+}
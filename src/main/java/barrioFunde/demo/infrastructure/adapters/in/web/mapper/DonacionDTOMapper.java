@@ -1,13 +1,18 @@
 package barrioFunde.demo.infrastructure.adapters.in.web.mapper;
 
 
+import barrioFunde.demo.domain.model.CursorDonacion;
 import barrioFunde.demo.domain.model.Donacion;
+import barrioFunde.demo.domain.model.RankingRow;
 import barrioFunde.demo.infrastructure.adapters.in.web.dto.DonacionRequestDTO;
 import barrioFunde.demo.infrastructure.adapters.in.web.dto.DonacionResponseDTO;
 import barrioFunde.demo.infrastructure.adapters.in.web.dto.RankingDonanteDTO;
 
 import java.math.BigDecimal;
-import java.util.Map;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 
 public class DonacionDTOMapper {
 
@@ -47,29 +52,52 @@ public class DonacionDTOMapper {
     }
 
     /**
-     * Convierte Map → Ranking DTO
+     * Convierte RankingRow → Ranking DTO
      */
-    public static RankingDonanteDTO toRankingDTO(Map<String, Object> data, int posicion) {
-        BigDecimal totalDonado = (BigDecimal) data.get("totalDonado");
-        Long cantidadDonaciones = ((Number) data.get("cantidadDonaciones")).longValue();
-
-        BigDecimal promedio = BigDecimal.ZERO;
-        if (cantidadDonaciones > 0) {
-            promedio = totalDonado.divide(
-                    new BigDecimal(cantidadDonaciones),
-                    2,
-                    BigDecimal.ROUND_HALF_UP
-            );
-        }
-
+    public static RankingDonanteDTO toRankingDTO(RankingRow fila, int posicion) {
         return RankingDonanteDTO.builder()
                 .posicion(posicion)
-                .usuarioId(((Number) data.get("usuarioId")).longValue())
-                .nombre((String) data.get("nombre"))
-                .email((String) data.get("email"))
-                .totalDonado(totalDonado)
-                .cantidadDonaciones(cantidadDonaciones)
-                .promedioDonacion(promedio)
+                .usuarioId(fila.usuarioId())
+                .nombre(fila.nombre())
+                .email(fila.email())
+                .totalDonado(fila.totalDonado())
+                .cantidadDonaciones(fila.cantidadDonaciones())
+                .promedioDonacion(fila.promedio())
                 .build();
     }
+
+    /**
+     * Convierte CursorDonacion → token opaco (Base64 URL de "fecha|id")
+     */
+    public static String toCursorToken(CursorDonacion cursor) {
+        if (cursor == null) {
+            return null;
+        }
+
+        String plano = cursor.getFechaDonacion() + "|" + cursor.getId();
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(plano.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Convierte token opaco → CursorDonacion
+     * @throws IllegalArgumentException si el token no es válido
+     */
+    public static CursorDonacion fromCursorToken(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        try {
+            String plano = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separador = plano.lastIndexOf('|');
+
+            return new CursorDonacion(
+                    LocalDateTime.parse(plano.substring(0, separador)),
+                    Long.parseLong(plano.substring(separador + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido");
+        }
+    }
 }
@@ -12,19 +12,32 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "donaciones")
+@Table(name = "donaciones",
+        indexes = {
+                // Soporta la paginación keyset ORDER BY fecha_donacion DESC, id DESC
+                @Index(name = "idx_donaciones_fecha_id", columnList = "fecha_donacion, id")
+        })
+// Plan de carga para los listados que muestran nombre y email del donante
+@NamedEntityGraph(name = DonacionEntity.GRAFO_CON_USUARIO, attributeNodes = @NamedAttributeNode("usuario"))
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class DonacionEntity {
 
+    public static final String GRAFO_CON_USUARIO = "DonacionEntity.conUsuario";
+
+    // Secuencia con allocationSize = INCREMENT BY (V4): permite INSERT en lotes JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "donaciones_seq")
+    @SequenceGenerator(name = "donaciones_seq", sequenceName = "donaciones_seq", allocationSize = 50)
     private Long id;
 
+    // LAZY: cada consulta decide si lo necesita (GRAFO_CON_USUARIO, JOIN FETCH);
+    // si igual se recorre, UsuarioEntity se inicializa en lotes (@BatchSize)
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "usuario_id", nullable = false)
+    @JoinColumn(name = "usuario_id", nullable = false,
+            foreignKey = @ForeignKey(name = DonacionPersistenceAdapter.FK_USUARIO))
     private UsuarioEntity usuario;
 
     @Enumerated(EnumType.STRING)
@@ -56,6 +69,11 @@ public class DonacionEntity {
     @Column(length = 1000)
     private String notas;
 
+    // Concurrencia optimista: un UPDATE con versión vieja falla en lugar de pisar otro cambio
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         if (fechaDonacion == null) {
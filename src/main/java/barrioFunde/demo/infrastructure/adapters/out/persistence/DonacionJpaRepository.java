@@ -1,77 +1,174 @@
 package barrioFunde.demo.infrastructure.adapters.out.persistence;
 
 import barrioFunde.demo.domain.model.enums.EstadoDonacion;
-import barrioFunde.demo.domain.model.enums.TipoDonacion;
-import org.springframework.data.domain.PageRequest;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface DonacionJpaRepository extends JpaRepository<DonacionEntity, Long> {
+public interface DonacionJpaRepository extends JpaRepository<DonacionEntity, Long>,
+        JpaSpecificationExecutor<DonacionEntity> {
+
+    // Donación con su donante en un solo SELECT (LEFT JOIN por el grafo)
+    @EntityGraph(DonacionEntity.GRAFO_CON_USUARIO)
+    Optional<DonacionEntity> findConUsuarioById(Long id);
 
     // Buscar por usuario
     List<DonacionEntity> findByUsuarioId(Long usuarioId);
 
-    // Buscar por estado
-    List<DonacionEntity> findByEstado(EstadoDonacion estado);
-
-    // Buscar por tipo
-    List<DonacionEntity> findByTipo(TipoDonacion tipo);
-
-    // Buscar por rango de fechas
-    @Query("SELECT d FROM DonacionEntity d WHERE d.fechaDonacion BETWEEN :inicio AND :fin")
-    List<DonacionEntity> findByFechaDonacionBetween(
+    /**
+     * Recorre el rango de fechas con un cursor JDBC (fetch size) para exportaciones.
+     * Trae el usuario en el mismo SELECT y marca las entidades como solo lectura
+     * para que Hibernate no guarde snapshots de dirty-checking.
+     * Debe consumirse dentro de una transacción y cerrarse al terminar.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("""
+        SELECT d FROM DonacionEntity d
+        JOIN FETCH d.usuario
+        WHERE d.fechaDonacion BETWEEN :inicio AND :fin
+        ORDER BY d.fechaDonacion, d.id
+    """)
+    Stream<DonacionEntity> streamByFechaDonacionBetween(
             @Param("inicio") LocalDateTime inicio,
             @Param("fin") LocalDateTime fin
     );
 
-    // ========== RANKING Y ESTADÍSTICAS ==========
-
-    /**
-     * Top donantes por monto total (solo donaciones confirmadas)
-     */
+    // Validación de pendientes de una carga masiva en una sola consulta
     @Query("""
-        SELECT 
-            d.usuario.id as usuarioId,
-            d.usuario.nombre as nombre,
-            d.usuario.email as email,
-            SUM(d.monto) as totalDonado,
-            COUNT(d) as cantidadDonaciones
-        FROM DonacionEntity d
-        WHERE d.estado = 'CONFIRMADA' 
-        AND d.tipo = 'MONETARIA'
-        GROUP BY d.usuario.id, d.usuario.nombre, d.usuario.email
-        ORDER BY SUM(d.monto) DESC
+        SELECT DISTINCT d.usuario.id FROM DonacionEntity d
+        WHERE d.usuario.id IN :usuarioIds AND d.estado = :estado
     """)
-    List<Map<String, Object>> findTopDonantesPorMonto(@Param("limite") PageRequest limite);
+    List<Long> findUsuarioIdsConEstado(
+            @Param("usuarioIds") Collection<Long> usuarioIds,
+            @Param("estado") EstadoDonacion estado
+    );
+
+    // Los totales por donante y el ranking se leen de donante_totales (DonanteTotalJpaRepository)
 
     /**
-     * Calcular total donado por un usuario
+     * Estadísticas de un donante en una sola pasada (confirmadas monetarias)
+     * Usa el índice parcial idx_donaciones_ranking (usuario_id) INCLUDE (monto)
      */
-    @Query("""
-        SELECT COALESCE(SUM(d.monto), 0)
-        FROM DonacionEntity d
-        WHERE d.usuario.id = :usuarioId
+    @Query(value = """
+        SELECT
+            COALESCE(SUM(d.monto), 0) AS total,
+            COUNT(d.monto) AS cantidad,
+            MIN(d.monto) AS minimo,
+            MAX(d.monto) AS maximo,
+            ROUND(AVG(d.monto), 2) AS promedio,
+            CAST(percentile_cont(0.5) WITHIN GROUP (ORDER BY d.monto) AS NUMERIC(12, 2)) AS mediana,
+            CAST(percentile_cont(0.9) WITHIN GROUP (ORDER BY d.monto) AS NUMERIC(12, 2)) AS percentil90
+        FROM donaciones d
+        WHERE d.usuario_id = :usuarioId
         AND d.estado = 'CONFIRMADA'
         AND d.tipo = 'MONETARIA'
-    """)
-    BigDecimal calcularTotalDonadoPorUsuario(@Param("usuarioId") Long usuarioId);
+    """, nativeQuery = true)
+    EstadisticasDonanteProjection obtenerEstadisticasDonante(@Param("usuarioId") Long usuarioId);
 
     /**
-     * Contar donaciones de un usuario
+     * Transición de estado en una sola sentencia: solo cambia si sigue PENDIENTE
+     * y devuelve la fila actualizada (vacío si no existe o ya no estaba pendiente)
+     * notas null conserva las notas actuales
      */
-    @Query("SELECT COUNT(d) FROM DonacionEntity d WHERE d.usuario.id = :usuarioId AND d.estado = 'CONFIRMADA'")
-    Long contarDonacionesConfirmadasPorUsuario(@Param("usuarioId") Long usuarioId);
+    @Query(value = """
+        UPDATE donaciones
+        SET estado = :estado,
+            fecha_confirmacion = :fechaConfirmacion,
+            notas = COALESCE(:notas, notas),
+            version = version + 1
+        WHERE id = :id
+        AND estado = 'PENDIENTE'
+        RETURNING *
+    """, nativeQuery = true)
+    Optional<DonacionEntity> cambiarEstadoSiPendiente(
+            @Param("id") Long id,
+            @Param("estado") String estado,
+            @Param("fechaConfirmacion") LocalDateTime fechaConfirmacion,
+            @Param("notas") String notas
+    );
+
+    // Transición masiva por ids: misma condición, una sola sentencia para todo el lote
+    @Query(value = """
+        UPDATE donaciones
+        SET estado = :estado,
+            fecha_confirmacion = :fechaConfirmacion,
+            notas = COALESCE(:notas, notas),
+            version = version + 1
+        WHERE id IN (:ids)
+        AND estado = 'PENDIENTE'
+        RETURNING *
+    """, nativeQuery = true)
+    List<DonacionEntity> cambiarEstadoPendientes(
+            @Param("ids") Collection<Long> ids,
+            @Param("estado") String estado,
+            @Param("fechaConfirmacion") LocalDateTime fechaConfirmacion,
+            @Param("notas") String notas
+    );
 
     /**
-     * Verificar si tiene donación pendiente
+     * Transición masiva por filtro: criterios nulos no filtran (CAST para tipar los nulos)
+     * Cambia como máximo :limite filas, las más antiguas; las que otra transacción
+     * tiene bloqueadas se saltan en lugar de esperar
      */
-    boolean existsByUsuarioIdAndEstado(Long usuarioId, EstadoDonacion estado);
+    @Query(value = """
+        UPDATE donaciones
+        SET estado = :estado,
+            fecha_confirmacion = :fechaConfirmacion,
+            notas = COALESCE(:notas, notas),
+            version = version + 1
+        WHERE id IN (
+            SELECT id FROM donaciones
+            WHERE estado = 'PENDIENTE'
+            AND (CAST(:tipo AS VARCHAR) IS NULL OR tipo = CAST(:tipo AS VARCHAR))
+            AND (CAST(:fechaInicio AS TIMESTAMP) IS NULL OR fecha_donacion >= CAST(:fechaInicio AS TIMESTAMP))
+            AND (CAST(:fechaFin AS TIMESTAMP) IS NULL OR fecha_donacion <= CAST(:fechaFin AS TIMESTAMP))
+            ORDER BY fecha_donacion, id
+            LIMIT :limite
+            FOR UPDATE SKIP LOCKED
+        )
+        AND estado = 'PENDIENTE'
+        RETURNING *
+    """, nativeQuery = true)
+    List<DonacionEntity> cambiarEstadoPendientesPorFiltro(
+            @Param("tipo") String tipo,
+            @Param("fechaInicio") LocalDateTime fechaInicio,
+            @Param("fechaFin") LocalDateTime fechaFin,
+            @Param("estado") String estado,
+            @Param("fechaConfirmacion") LocalDateTime fechaConfirmacion,
+            @Param("notas") String notas,
+            @Param("limite") int limite
+    );
+
+    // Si quedan pendientes que cumplen el filtro (mismos criterios que la transición por filtro)
+    @Query(value = """
+        SELECT EXISTS (
+            SELECT 1 FROM donaciones
+            WHERE estado = 'PENDIENTE'
+            AND (CAST(:tipo AS VARCHAR) IS NULL OR tipo = CAST(:tipo AS VARCHAR))
+            AND (CAST(:fechaInicio AS TIMESTAMP) IS NULL OR fecha_donacion >= CAST(:fechaInicio AS TIMESTAMP))
+            AND (CAST(:fechaFin AS TIMESTAMP) IS NULL OR fecha_donacion <= CAST(:fechaFin AS TIMESTAMP))
+        )
+    """, nativeQuery = true)
+    boolean existenPendientesPorFiltro(
+            @Param("tipo") String tipo,
+            @Param("fechaInicio") LocalDateTime fechaInicio,
+            @Param("fechaFin") LocalDateTime fechaFin
+    );
 }
@@ -24,6 +24,7 @@ public class DonacionMapper {
                 .fechaDonacion(entity.getFechaDonacion())
                 .fechaConfirmacion(entity.getFechaConfirmacion())
                 .notas(entity.getNotas())
+                .version(entity.getVersion())
                 .build();
     }
 
@@ -47,6 +48,7 @@ public class DonacionMapper {
                 .fechaDonacion(donacion.getFechaDonacion())
                 .fechaConfirmacion(donacion.getFechaConfirmacion())
                 .notas(donacion.getNotas())
+                .version(donacion.getVersion())
                 .build();
     }
 
@@ -1,113 +1,376 @@
 package barrioFunde.demo.infrastructure.adapters.out.persistence;
 
+import barrioFunde.demo.application.jfr.ConsultaPersistenciaEvent;
 import barrioFunde.demo.application.ports.out.DonacionRepositoryPort;
+import barrioFunde.demo.domain.model.CursorDonacion;
 import barrioFunde.demo.domain.model.Donacion;
+import barrioFunde.demo.domain.model.DonacionConDonante;
+import barrioFunde.demo.domain.model.EstadisticasDonante;
+import barrioFunde.demo.domain.model.FiltroDonacion;
+import barrioFunde.demo.domain.model.RankingRow;
+import barrioFunde.demo.domain.model.TotalDonante;
+import barrioFunde.demo.domain.model.Usuario;
 import barrioFunde.demo.domain.model.enums.EstadoDonacion;
-import barrioFunde.demo.domain.model.enums.TipoDonacion;
+import barrioFunde.demo.domain.service.ReglasNegocioDonacion;
+import barrioFunde.demo.infrastructure.encriptacion.config.CacheConfig;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+/**
+ * Adaptador de persistencia de donaciones
+ * Las consultas y escrituras masivas se registran como evento JFR
+ * barrioFunde.ConsultaPersistencia, con las filas devueltas o modificadas
+ */
 @Component
 @RequiredArgsConstructor
 public class DonacionPersistenceAdapter implements DonacionRepositoryPort {
 
     private final DonacionJpaRepository jpaRepository;
-    private final UsuarioJpaRepository usuarioJpaRepository;
+    private final DonanteTotalJpaRepository donanteTotalJpaRepository;
+    private final EntityManager entityManager;
+
+    // Cada cuántas filas se vacía el contexto de persistencia durante un recorrido
+    private static final int FILAS_POR_LIMPIEZA = 500;
+
+    // Índice único parcial (usuario_id) WHERE estado = 'PENDIENTE' (V6)
+    static final String INDICE_PENDIENTE_UNICA = "uk_donaciones_pendiente_usuario";
+
+    // FK donaciones.usuario_id -> usuarios (V8)
+    static final String FK_USUARIO = "fk_donaciones_usuario";
+
+    // Clave del advisory lock de PostgreSQL que serializa la reconstrucción de donante_totales
+    private static final long CLAVE_RECONSTRUCCION_TOTALES = 4_713_001L;
 
     @Override
+    @Transactional
     public Donacion guardar(Donacion donacion) {
-        UsuarioEntity usuario = usuarioJpaRepository.findById(donacion.getUsuarioId())
-                .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
-
+        ConsultaPersistenciaEvent evento = ConsultaPersistenciaEvent.iniciar("guardar", donacion.getUsuarioId());
         DonacionEntity entity;
 
         if (donacion.getId() != null) {
-            // Actualizar existente
-            entity = jpaRepository.findById(donacion.getId())
-                    .orElseThrow(() -> new IllegalArgumentException("Donación no encontrada"));
+            // Actualizar existente: dentro de la transacción del caso de uso la
+            // entidad ya está en el contexto de persistencia y find no consulta la BD
+            entity = entityManager.find(DonacionEntity.class, donacion.getId());
+            if (entity == null) {
+                throw new IllegalArgumentException("Donación no encontrada");
+            }
+            // Otro cambio se guardó después de que se leyó esta donación
+            if (donacion.getVersion() != null && !donacion.getVersion().equals(entity.getVersion())) {
+                throw new ObjectOptimisticLockingFailureException(DonacionEntity.class, donacion.getId());
+            }
             DonacionMapper.updateEntity(entity, donacion);
-        } else {
-            // Crear nueva
-            entity = DonacionMapper.toEntity(donacion, usuario);
+            evento.registrar(1);
+            return DonacionMapper.toDomain(entity);
         }
 
-        DonacionEntity saved = jpaRepository.save(entity);
-        return DonacionMapper.toDomain(saved);
+        // Crear nueva: el usuario solo hace falta como FK, basta la referencia (sin SELECT)
+        UsuarioEntity usuario = entityManager.getReference(UsuarioEntity.class, donacion.getUsuarioId());
+        entity = DonacionMapper.toEntity(donacion, usuario);
+        entityManager.persist(entity);
+
+        // El INSERT se envía aquí para traducir las violaciones del índice de pendientes y de la FK
+        flushTraduciendoRestricciones();
+        evento.registrar(1);
+        return DonacionMapper.toDomain(entity);
+    }
+
+    private static DonacionConDonante conDonante(DonacionEntity entity) {
+        return new DonacionConDonante(DonacionMapper.toDomain(entity), UsuarioMapper.toDomain(entity.getUsuario()));
+    }
+
+    /**
+     * Una segunda pendiente del mismo usuario viola uk_donaciones_pendiente_usuario;
+     * se informa con la misma excepción que la regla de dominio.
+     * Un usuario inexistente (la referencia no se consulta) viola fk_donaciones_usuario
+     */
+    private void flushTraduciendoRestricciones() {
+        try {
+            entityManager.flush();
+        } catch (ConstraintViolationException e) {
+            if (INDICE_PENDIENTE_UNICA.equals(e.getConstraintName())) {
+                ReglasNegocioDonacion.validarDonacionNoDuplicada(true);
+            }
+            if (FK_USUARIO.equals(e.getConstraintName())) {
+                throw new IllegalArgumentException("Usuario no encontrado");
+            }
+            throw e;
+        }
     }
 
     @Override
-    public Optional<Donacion> buscarPorId(Long id) {
-        return jpaRepository.findById(id)
+    @Transactional
+    public Optional<Donacion> cambiarEstadoSiPendiente(Long id, EstadoDonacion estado,
+                                                       LocalDateTime fechaConfirmacion, String notas) {
+        ConsultaPersistenciaEvent evento = ConsultaPersistenciaEvent.iniciar("cambiarEstadoSiPendiente");
+        Optional<Donacion> donacion = jpaRepository.cambiarEstadoSiPendiente(id, estado.name(), fechaConfirmacion, notas)
                 .map(DonacionMapper::toDomain);
+        evento.registrar(donacion.isPresent() ? 1 : 0);
+        return donacion;
     }
 
     @Override
-    public List<Donacion> buscarTodas() {
-        return jpaRepository.findAll().stream()
+    @Transactional
+    public List<Donacion> cambiarEstadoPendientes(Collection<Long> ids, EstadoDonacion estado,
+                                                  LocalDateTime fechaConfirmacion, String notas) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        ConsultaPersistenciaEvent evento = ConsultaPersistenciaEvent.iniciar("cambiarEstadoPendientes");
+        List<Donacion> donaciones = jpaRepository.cambiarEstadoPendientes(ids, estado.name(), fechaConfirmacion, notas).stream()
                 .map(DonacionMapper::toDomain)
                 .collect(Collectors.toList());
+        evento.registrar(donaciones.size());
+        return donaciones;
     }
 
     @Override
-    public void eliminar(Long id) {
-        jpaRepository.deleteById(id);
+    @Transactional
+    public List<Donacion> cambiarEstadoPendientes(FiltroDonacion filtro, EstadoDonacion estado,
+                                                  LocalDateTime fechaConfirmacion, String notas, int limite) {
+        ConsultaPersistenciaEvent evento = ConsultaPersistenciaEvent.iniciar("cambiarEstadoPendientesPorFiltro");
+        List<Donacion> donaciones = jpaRepository.cambiarEstadoPendientesPorFiltro(
+                        filtro.getTipo() != null ? filtro.getTipo().name() : null,
+                        filtro.getFechaInicio(),
+                        filtro.getFechaFin(),
+                        estado.name(),
+                        fechaConfirmacion,
+                        notas,
+                        limite
+                ).stream()
+                .map(DonacionMapper::toDomain)
+                .collect(Collectors.toList());
+        evento.registrar(donaciones.size());
+        return donaciones;
     }
 
     @Override
-    public List<Donacion> buscarPorUsuarioId(Long usuarioId) {
-        return jpaRepository.findByUsuarioId(usuarioId).stream()
-                .map(DonacionMapper::toDomain)
-                .collect(Collectors.toList());
+    public boolean existenPendientes(FiltroDonacion filtro) {
+        return jpaRepository.existenPendientesPorFiltro(
+                filtro.getTipo() != null ? filtro.getTipo().name() : null,
+                filtro.getFechaInicio(),
+                filtro.getFechaFin());
     }
 
     @Override
-    public List<Donacion> buscarPorEstado(EstadoDonacion estado) {
-        return jpaRepository.findByEstado(estado).stream()
+    public List<Donacion> buscarPorIds(Collection<Long> ids) {
+        ConsultaPersistenciaEvent evento = ConsultaPersistenciaEvent.iniciar("buscarPorIds");
+        List<Donacion> donaciones = jpaRepository.findAllById(ids).stream()
                 .map(DonacionMapper::toDomain)
                 .collect(Collectors.toList());
+        evento.registrar(donaciones.size());
+        return donaciones;
+    }
+
+    @Override
+    public Optional<Donacion> buscarPorId(Long id) {
+        ConsultaPersistenciaEvent evento = ConsultaPersistenciaEvent.iniciar("buscarPorId");
+        Optional<Donacion> donacion = jpaRepository.findById(id)
+                .map(DonacionMapper::toDomain);
+        evento.registrar(donacion.isPresent() ? 1 : 0);
+        return donacion;
+    }
+
+    @Override
+    public Optional<DonacionConDonante> buscarPorIdConDonante(Long id) {
+        ConsultaPersistenciaEvent evento = ConsultaPersistenciaEvent.iniciar("buscarPorIdConDonante");
+        Optional<DonacionConDonante> donacion = jpaRepository.findConUsuarioById(id)
+                .map(DonacionPersistenceAdapter::conDonante);
+        evento.registrar(donacion.isPresent() ? 1 : 0);
+        return donacion;
+    }
+
+    @Override
+    public void eliminar(Long id) {
+        jpaRepository.deleteById(id);
     }
 
     @Override
-    public List<Donacion> buscarPorTipo(TipoDonacion tipo) {
-        return jpaRepository.findByTipo(tipo).stream()
+    public List<Donacion> buscarPorUsuarioId(Long usuarioId) {
+        ConsultaPersistenciaEvent evento = ConsultaPersistenciaEvent.iniciar("buscarPorUsuarioId", usuarioId);
+        List<Donacion> donaciones = jpaRepository.findByUsuarioId(usuarioId).stream()
                 .map(DonacionMapper::toDomain)
                 .collect(Collectors.toList());
+        evento.registrar(donaciones.size());
+        return donaciones;
     }
 
     @Override
-    public List<Donacion> buscarPorFechas(LocalDateTime fechaInicio, LocalDateTime fechaFin) {
-        return jpaRepository.findByFechaDonacionBetween(fechaInicio, fechaFin).stream()
-                .map(DonacionMapper::toDomain)
+    public List<DonacionConDonante> buscarPagina(FiltroDonacion filtro, CursorDonacion despuesDe, int limite) {
+        ConsultaPersistenciaEvent evento = ConsultaPersistenciaEvent.iniciar("buscarPagina");
+        // Relación a uno: el JOIN FETCH no multiplica filas y el LIMIT sigue yendo a la BD
+        List<DonacionConDonante> donaciones = jpaRepository.findBy(
+                        DonacionSpecifications.conFiltro(filtro)
+                                .and(DonacionSpecifications.despuesDe(despuesDe))
+                                .and(DonacionSpecifications.conUsuario()),
+                        query -> query
+                                .sortBy(DonacionSpecifications.ORDEN_KEYSET)
+                                .limit(limite)
+                                .all()
+                ).stream()
+                .map(DonacionPersistenceAdapter::conDonante)
                 .collect(Collectors.toList());
+        evento.registrar(donaciones.size());
+        return donaciones;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void recorrerPorFechas(LocalDateTime fechaInicio, LocalDateTime fechaFin,
+                                  BiConsumer<Donacion, Usuario> consumidor) {
+        // Incluye el tiempo del consumidor: el cursor queda abierto mientras se escribe la exportación
+        ConsultaPersistenciaEvent evento = ConsultaPersistenciaEvent.iniciar("recorrerPorFechas");
+        try (Stream<DonacionEntity> filas = jpaRepository.streamByFechaDonacionBetween(fechaInicio, fechaFin)) {
+            Iterator<DonacionEntity> iterador = filas.iterator();
+            int procesadas = 0;
+
+            while (iterador.hasNext()) {
+                DonacionEntity entity = iterador.next();
+                consumidor.accept(
+                        DonacionMapper.toDomain(entity),
+                        UsuarioMapper.toDomain(entity.getUsuario())
+                );
+
+                // Evita que el contexto de persistencia crezca con cada fila leída
+                if (++procesadas % FILAS_POR_LIMPIEZA == 0) {
+                    entityManager.clear();
+                }
+            }
+            evento.registrar(procesadas);
+        }
     }
 
     @Override
-    public List<Map<String, Object>> obtenerTopDonantesPorMonto(int limite) {
-        return jpaRepository.findTopDonantesPorMonto(
+    @Cacheable(value = CacheConfig.RANKING_DONANTES, key = "#limite")
+    public List<RankingRow> obtenerTopDonantesPorMonto(int limite) {
+        ConsultaPersistenciaEvent evento = ConsultaPersistenciaEvent.iniciar("obtenerTopDonantesPorMonto");
+        List<RankingRow> ranking = donanteTotalJpaRepository.findTopDonantes(
                 PageRequest.of(0, limite)
         );
+        evento.registrar(ranking.size());
+        return ranking;
+    }
+
+    @Override
+    public List<TotalDonante> obtenerTotalesPorDonante() {
+        ConsultaPersistenciaEvent evento = ConsultaPersistenciaEvent.iniciar("obtenerTotalesPorDonante");
+        List<TotalDonante> totales = donanteTotalJpaRepository.findTotalesMonetarios();
+        evento.registrar(totales.size());
+        return totales;
     }
 
     @Override
     public BigDecimal calcularTotalDonadoPorUsuario(Long usuarioId) {
-        return jpaRepository.calcularTotalDonadoPorUsuario(usuarioId);
+        return donanteTotalJpaRepository.findById(usuarioId)
+                .map(DonanteTotalEntity::getTotalDonado)
+                .orElse(BigDecimal.ZERO);
+    }
+
+    @Override
+    public EstadisticasDonante obtenerEstadisticasDonante(Long usuarioId) {
+        ConsultaPersistenciaEvent evento = ConsultaPersistenciaEvent.iniciar("obtenerEstadisticasDonante", usuarioId);
+        EstadisticasDonanteProjection fila = jpaRepository.obtenerEstadisticasDonante(usuarioId);
+        evento.registrar(1);
+        return new EstadisticasDonante(
+                usuarioId,
+                fila.getTotal(),
+                fila.getCantidad(),
+                fila.getMinimo(),
+                fila.getMaximo(),
+                fila.getPromedio(),
+                fila.getMediana(),
+                fila.getPercentil90()
+        );
+    }
+
+    @Override
+    @Transactional
+    public void acumularConfirmacion(Donacion donacion) {
+        // Mismo criterio que recalcularDesdeDonaciones
+        boolean monetaria = donacion.esMonetaria();
+        BigDecimal monto = monetaria && donacion.getMonto() != null ? donacion.getMonto() : BigDecimal.ZERO;
+        donanteTotalJpaRepository.acumular(donacion.getUsuarioId(), monto, monetaria ? 1 : 0);
+    }
+
+    @Override
+    @Transactional
+    public void acumularConfirmaciones(List<Donacion> donaciones) {
+        if (donaciones.isEmpty()) {
+            return;
+        }
+        donanteTotalJpaRepository.acumularDonaciones(donaciones.stream()
+                .map(Donacion::getId)
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    @Transactional
+    public boolean reconstruirTotales() {
+        // Todos los nodos disparan el job a la misma hora; reconstruye uno solo
+        if (!donanteTotalJpaRepository.tomarTurnoReconstruccion(CLAVE_RECONSTRUCCION_TOTALES)) {
+            return false;
+        }
+        donanteTotalJpaRepository.bloquearParaReconstruccion();
+        donanteTotalJpaRepository.vaciar();
+        donanteTotalJpaRepository.recalcularDesdeDonaciones();
+        return true;
     }
 
     @Override
-    public Long contarDonacionesPorUsuario(Long usuarioId) {
-        return jpaRepository.contarDonacionesConfirmadasPorUsuario(usuarioId);
+    @Transactional
+    public List<Donacion> guardarLote(List<Donacion> donaciones) {
+        ConsultaPersistenciaEvent evento = ConsultaPersistenciaEvent.iniciar("guardarLote");
+        List<Donacion> guardadas = new ArrayList<>(donaciones.size());
+        int procesadas = 0;
+
+        for (Donacion donacion : donaciones) {
+            // Referencia sin SELECT: el usuario ya fue validado y la FK lo respalda
+            UsuarioEntity usuario = entityManager.getReference(UsuarioEntity.class, donacion.getUsuarioId());
+            DonacionEntity entity = DonacionMapper.toEntity(donacion, usuario);
+
+            // El id sale del bloque reservado de la secuencia; el INSERT queda en el lote JDBC
+            entityManager.persist(entity);
+            guardadas.add(DonacionMapper.toDomain(entity));
+
+            // Envía el lote pendiente y suelta las entidades ya escritas
+            if (++procesadas % FILAS_POR_LIMPIEZA == 0) {
+                flushTraduciendoRestricciones();
+                entityManager.clear();
+            }
+        }
+
+        flushTraduciendoRestricciones();
+        entityManager.clear();
+        evento.registrar(guardadas.size());
+        return guardadas;
     }
 
     @Override
-    public boolean existeDonacionPendientePorUsuario(Long usuarioId) {
-        return jpaRepository.existsByUsuarioIdAndEstado(usuarioId, EstadoDonacion.PENDIENTE);
+    public Set<Long> buscarUsuariosConDonacionPendiente(Collection<Long> usuarioIds) {
+        if (usuarioIds.isEmpty()) {
+            return Set.of();
+        }
+        ConsultaPersistenciaEvent evento = ConsultaPersistenciaEvent.iniciar("buscarUsuariosConDonacionPendiente");
+        Set<Long> conPendiente = new HashSet<>(jpaRepository.findUsuarioIdsConEstado(usuarioIds, EstadoDonacion.PENDIENTE));
+        evento.registrar(conPendiente.size());
+        return conPendiente;
     }
 }
\ No newline at end of file
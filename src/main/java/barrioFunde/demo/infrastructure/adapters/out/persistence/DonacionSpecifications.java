@@ -0,0 +1,84 @@
+package barrioFunde.demo.infrastructure.adapters.out.persistence;
+
+import barrioFunde.demo.domain.model.CursorDonacion;
+import barrioFunde.demo.domain.model.FiltroDonacion;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Specifications JPA para los listados de donaciones
+ * Traduce FiltroDonacion/CursorDonacion (dominio) a predicados Criteria
+ */
+public class DonacionSpecifications {
+
+    /**
+     * Orden estable para la paginación keyset: más recientes primero, id como desempate
+     */
+    public static final Sort ORDEN_KEYSET = Sort.by(
+            Sort.Order.desc("fechaDonacion"),
+            Sort.Order.desc("id")
+    );
+
+    private DonacionSpecifications() {
+        // Constructor privado para clase utilitaria
+    }
+
+    /**
+     * Combina los criterios no nulos del filtro
+     */
+    public static Specification<DonacionEntity> conFiltro(FiltroDonacion filtro) {
+        List<Specification<DonacionEntity>> condiciones = new ArrayList<>();
+
+        if (filtro.getEstado() != null) {
+            condiciones.add((root, query, cb) -> cb.equal(root.get("estado"), filtro.getEstado()));
+        }
+        if (filtro.getTipo() != null) {
+            condiciones.add((root, query, cb) -> cb.equal(root.get("tipo"), filtro.getTipo()));
+        }
+        if (filtro.getFechaInicio() != null) {
+            condiciones.add((root, query, cb) ->
+                    cb.greaterThanOrEqualTo(root.get("fechaDonacion"), filtro.getFechaInicio()));
+        }
+        if (filtro.getFechaFin() != null) {
+            condiciones.add((root, query, cb) ->
+                    cb.lessThanOrEqualTo(root.get("fechaDonacion"), filtro.getFechaFin()));
+        }
+
+        return Specification.allOf(condiciones);
+    }
+
+    /**
+     * Trae el donante en el mismo SELECT (JOIN FETCH); no agrega condiciones
+     * En una consulta de conteo no hay entidades que cargar y se omite
+     */
+    public static Specification<DonacionEntity> conUsuario() {
+        return (root, query, cb) -> {
+            if (!Long.class.equals(query.getResultType())) {
+                root.fetch("usuario");
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Filas estrictamente posteriores al cursor en ORDEN_KEYSET:
+     * fecha_donacion < :fecha OR (fecha_donacion = :fecha AND id < :id)
+     */
+    public static Specification<DonacionEntity> despuesDe(CursorDonacion cursor) {
+        if (cursor == null) {
+            return Specification.unrestricted();
+        }
+
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.<LocalDateTime>get("fechaDonacion"), cursor.getFechaDonacion()),
+                cb.and(
+                        cb.equal(root.get("fechaDonacion"), cursor.getFechaDonacion()),
+                        cb.lessThan(root.<Long>get("id"), cursor.getId())
+                )
+        );
+    }
+}
@@ -0,0 +1,46 @@
+package barrioFunde.demo.infrastructure.adapters.out.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Entidad JPA de los totales desnormalizados por donante (tabla donante_totales)
+ * Solo se lee con JPA; las escrituras son sentencias nativas atómicas en DonanteTotalJpaRepository
+ */
+@Entity
+@Table(name = "donante_totales")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DonanteTotalEntity {
+
+    @Id
+    @Column(name = "usuario_id")
+    private Long usuarioId;
+
+    // Solo donaciones confirmadas monetarias
+    @Column(name = "total_donado", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalDonado;
+
+    @Column(name = "donaciones_monetarias", nullable = false)
+    private Long donacionesMonetarias;
+
+    // Donaciones confirmadas de cualquier tipo
+    @Column(name = "donaciones_confirmadas", nullable = false)
+    private Long donacionesConfirmadas;
+
+    @Column(name = "fecha_actualizacion", nullable = false)
+    private LocalDateTime fechaActualizacion;
+}
@@ -0,0 +1,118 @@
+package barrioFunde.demo.infrastructure.adapters.out.persistence;
+
+import barrioFunde.demo.domain.model.RankingRow;
+import barrioFunde.demo.domain.model.TotalDonante;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DonanteTotalJpaRepository extends JpaRepository<DonanteTotalEntity, Long> {
+
+    /**
+     * Suma una donación confirmada al total del donante (crea la fila si no existe)
+     * Es un único UPSERT atómico: confirmaciones concurrentes no pierden incrementos
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO donante_totales
+            (usuario_id, total_donado, donaciones_monetarias, donaciones_confirmadas, fecha_actualizacion)
+        VALUES (:usuarioId, :monto, :monetarias, 1, now())
+        ON CONFLICT (usuario_id) DO UPDATE SET
+            total_donado           = donante_totales.total_donado + EXCLUDED.total_donado,
+            donaciones_monetarias  = donante_totales.donaciones_monetarias + EXCLUDED.donaciones_monetarias,
+            donaciones_confirmadas = donante_totales.donaciones_confirmadas + 1,
+            fecha_actualizacion    = EXCLUDED.fecha_actualizacion
+    """, nativeQuery = true)
+    void acumular(@Param("usuarioId") Long usuarioId,
+                  @Param("monto") BigDecimal monto,
+                  @Param("monetarias") int monetarias);
+
+    /**
+     * Suma varias donaciones confirmadas agrupadas por donante en un solo UPSERT
+     * Mismo criterio que recalcularDesdeDonaciones
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO donante_totales
+            (usuario_id, total_donado, donaciones_monetarias, donaciones_confirmadas, fecha_actualizacion)
+        SELECT usuario_id,
+               COALESCE(SUM(monto) FILTER (WHERE tipo = 'MONETARIA'), 0),
+               COUNT(*) FILTER (WHERE tipo = 'MONETARIA'),
+               COUNT(*),
+               now()
+        FROM donaciones
+        WHERE id IN (:donacionIds)
+        GROUP BY usuario_id
+        ON CONFLICT (usuario_id) DO UPDATE SET
+            total_donado           = donante_totales.total_donado + EXCLUDED.total_donado,
+            donaciones_monetarias  = donante_totales.donaciones_monetarias + EXCLUDED.donaciones_monetarias,
+            donaciones_confirmadas = donante_totales.donaciones_confirmadas + EXCLUDED.donaciones_confirmadas,
+            fecha_actualizacion    = EXCLUDED.fecha_actualizacion
+    """, nativeQuery = true)
+    int acumularDonaciones(@Param("donacionIds") Collection<Long> donacionIds);
+
+    /**
+     * Turno de la reconstrucción entre nodos: advisory lock de la transacción
+     * false si otro nodo la está haciendo; se libera solo con el commit o rollback
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:clave)", nativeQuery = true)
+    boolean tomarTurnoReconstruccion(@Param("clave") long clave);
+
+    /**
+     * Bloquea escrituras concurrentes (confirmaciones) hasta que termine la reconstrucción
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE donante_totales IN EXCLUSIVE MODE", nativeQuery = true)
+    void bloquearParaReconstruccion();
+
+    @Modifying
+    @Query(value = "DELETE FROM donante_totales", nativeQuery = true)
+    void vaciar();
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO donante_totales
+            (usuario_id, total_donado, donaciones_monetarias, donaciones_confirmadas, fecha_actualizacion)
+        SELECT usuario_id,
+               COALESCE(SUM(monto) FILTER (WHERE tipo = 'MONETARIA'), 0),
+               COUNT(*) FILTER (WHERE tipo = 'MONETARIA'),
+               COUNT(*),
+               now()
+        FROM donaciones
+        WHERE estado = 'CONFIRMADA'
+        GROUP BY usuario_id
+    """, nativeQuery = true)
+    int recalcularDesdeDonaciones();
+
+    /**
+     * Top donantes por monto total (lee la tabla de totales, sin agregar donaciones)
+     */
+    @Query("""
+        SELECT new barrioFunde.demo.domain.model.RankingRow(
+            t.usuarioId, u.nombre, u.email, t.totalDonado, t.donacionesMonetarias
+        )
+        FROM DonanteTotalEntity t
+        JOIN UsuarioEntity u ON u.id = t.usuarioId
+        WHERE t.donacionesMonetarias > 0
+        ORDER BY t.totalDonado DESC, t.usuarioId
+    """)
+    List<RankingRow> findTopDonantes(Pageable limite);
+
+    @Query("""
+        SELECT new barrioFunde.demo.domain.model.TotalDonante(
+            t.usuarioId, u.nombre, u.email, t.totalDonado, t.donacionesMonetarias
+        )
+        FROM DonanteTotalEntity t
+        JOIN UsuarioEntity u ON u.id = t.usuarioId
+        WHERE t.donacionesMonetarias > 0
+    """)
+    List<TotalDonante> findTotalesMonetarios();
+}
@@ -0,0 +1,16 @@
+package barrioFunde.demo.infrastructure.adapters.out.persistence;
+
+import java.math.BigDecimal;
+
+/**
+ * Proyección de la consulta nativa de estadísticas por donante (alias de columnas)
+ */
+public interface EstadisticasDonanteProjection {
+    BigDecimal getTotal();
+    Long getCantidad();
+    BigDecimal getMinimo();
+    BigDecimal getMaximo();
+    BigDecimal getPromedio();
+    BigDecimal getMediana();
+    BigDecimal getPercentil90();
+}
@@ -3,6 +3,7 @@ package barrioFunde.demo.infrastructure.adapters.out.persistence;
 import barrioFunde.demo.domain.model.enums.RolUsuario;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDateTime;
 
@@ -16,6 +17,8 @@ import java.time.LocalDateTime;
         uniqueConstraints = {
                 @UniqueConstraint(name = "uk_usuario_email", columnNames = "email")
         })
+// Proxies de usuario sin inicializar (DonacionEntity.usuario) se cargan de a 50 con un IN
+@BatchSize(size = 50)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -49,6 +52,11 @@ public class UsuarioEntity {
     @Column(name = "fecha_actualizacion")
     private LocalDateTime fechaActualizacion;
 
+    // Concurrencia optimista: dos ediciones sobre la misma versión no se pisan
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         if (this.fechaRegistro == null) {
@@ -2,6 +2,7 @@ package barrioFunde.demo.infrastructure.adapters.out.persistence;
 
 import barrioFunde.demo.domain.model.enums.RolUsuario;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -24,10 +25,55 @@ public interface UsuarioJpaRepository extends JpaRepository<UsuarioEntity, Long>
 
     List<UsuarioEntity> findByNombreContainingIgnoreCase(String nombre);
 
+    /**
+     * Subcadena (LIKE) o palabra parecida (<%) en nombre o email, todo resuelto con los
+     * índices GIN de trigramas de V7; el orden es la mejor word_similarity de los dos campos
+     */
+    @Query(value = """
+            SELECT * FROM usuarios u
+            WHERE lower(u.nombre) LIKE :patron
+               OR lower(u.email) LIKE :patron
+               OR :termino <% lower(u.nombre)
+               OR :termino <% lower(u.email)
+            ORDER BY GREATEST(word_similarity(:termino, lower(u.nombre)),
+                              word_similarity(:termino, lower(u.email))) DESC,
+                     u.id
+            LIMIT :limite OFFSET :desde
+            """, nativeQuery = true)
+    List<UsuarioEntity> buscarPorSimilitud(@Param("termino") String termino,
+                                           @Param("patron") String patron,
+                                           @Param("desde") int desde,
+                                           @Param("limite") int limite);
+
+    /**
+     * Autocompletado: range scan sobre idx_usuarios_nombre_prefijo, que ya devuelve
+     * las filas en el orden pedido y se detiene en el LIMIT
+     */
+    @Query(value = """
+            SELECT * FROM usuarios u
+            WHERE lower(u.nombre) COLLATE "C" LIKE :patron
+            ORDER BY lower(u.nombre) COLLATE "C", u.id
+            LIMIT :limite OFFSET :desde
+            """, nativeQuery = true)
+    List<UsuarioEntity> buscarPorPrefijoNombre(@Param("patron") String patron,
+                                               @Param("desde") int desde,
+                                               @Param("limite") int limite);
+
     long countByRol(RolUsuario rol);
 
     @Query("SELECT COUNT(u) FROM UsuarioEntity u WHERE u.rol = :rol AND u.activo = true")
     long countByRolAndActivoTrue(@Param("rol") RolUsuario rol);
 
     List<UsuarioEntity> findByRolAndActivo(RolUsuario rol, Boolean activo);
+
+    // Sube la versión como cualquier otra escritura: un guardado que leyó el hash anterior falla en vez de pisarlo.
+    // Solo si el hash sigue siendo el verificado: un cambio de contraseña hecho mientras tanto no se revierte
+    @Modifying
+    @Query("""
+        UPDATE UsuarioEntity u SET u.password = :password, u.version = u.version + 1
+        WHERE u.id = :id AND u.password = :hashAnterior
+    """)
+    int actualizarPassword(@Param("id") Long id,
+                           @Param("hashAnterior") String hashAnterior,
+                           @Param("password") String password);
 }
\ No newline at end of file
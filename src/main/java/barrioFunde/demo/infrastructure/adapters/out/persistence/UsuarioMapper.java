@@ -27,6 +27,7 @@ public class UsuarioMapper {
                 .activo(usuario.getActivo())
                 .fechaRegistro(usuario.getFechaRegistro())
                 .fechaActualizacion(usuario.getFechaActualizacion())
+                .version(usuario.getVersion())
                 .build();
     }
 
@@ -49,6 +50,7 @@ public class UsuarioMapper {
                 .activo(entity.getActivo())
                 .fechaRegistro(entity.getFechaRegistro())
                 .fechaActualizacion(entity.getFechaActualizacion())
+                .version(entity.getVersion())
                 .build();
     }
 }
@@ -6,7 +6,9 @@ import barrioFunde.demo.domain.model.Usuario;
 import barrioFunde.demo.domain.model.enums.RolUsuario;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -32,13 +34,34 @@ public class UsuarioPersistenceAdapter implements UsuarioRepositoryPort {
         return UsuarioMapper.toDomain(savedEntity);
     }
 
+    /**
+     * Dentro de un caso de uso se une a su transacción (réplica si es de consulta).
+     * Sola (principal del token, login) abre una transacción de escritura y lee
+     * la primaria: un usuario recién desactivado no puede seguir entrando por el
+     * atraso de la réplica. La transacción dura solo la consulta, no el BCrypt
+     */
     @Override
+    @Transactional
     public Optional<Usuario> buscarPorId(Long id) {
         return jpaRepository.findById(id)
                 .map(UsuarioMapper::toDomain);
     }
 
     @Override
+    public List<Usuario> buscarPorIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+
+        return jpaRepository.findAllById(ids)
+                .stream()
+                .map(UsuarioMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    // Igual que buscarPorId
+    @Override
+    @Transactional
     public Optional<Usuario> buscarPorEmail(String email) {
         return jpaRepository.findByEmail(email)
                 .map(UsuarioMapper::toDomain);
@@ -81,6 +104,29 @@ public class UsuarioPersistenceAdapter implements UsuarioRepositoryPort {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<Usuario> buscarPorSimilitud(String termino, int desde, int limite) {
+        return jpaRepository.buscarPorSimilitud(termino, "%" + escaparLike(termino) + "%", desde, limite)
+                .stream()
+                .map(UsuarioMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Usuario> buscarPorPrefijoNombre(String prefijo, int desde, int limite) {
+        return jpaRepository.buscarPorPrefijoNombre(escaparLike(prefijo) + "%", desde, limite)
+                .stream()
+                .map(UsuarioMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    // % y _ escritos por el usuario se buscan literalmente ('\' es el escape por defecto de LIKE)
+    static String escaparLike(String texto) {
+        return texto.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
     @Override
     public long contarPorRol(RolUsuario rol) {
         return jpaRepository.countByRol(rol);
@@ -100,4 +146,10 @@ public class UsuarioPersistenceAdapter implements UsuarioRepositoryPort {
     public boolean existePorId(Long id) {
         return jpaRepository.existsById(id);
     }
+
+    @Override
+    @Transactional
+    public boolean actualizarPassword(Long id, String hashAnterior, String passwordEncriptada) {
+        return jpaRepository.actualizarPassword(id, hashAnterior, passwordEncriptada) == 1;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package barrioFunde.demo.infrastructure.adapters.out.security.Auth;
+
+import barrioFunde.demo.application.ports.out.UsuarioRepositoryPort;
+import barrioFunde.demo.domain.model.Usuario;
+import barrioFunde.demo.infrastructure.encriptacion.config.CacheConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Carga el usuario autenticado a partir del ID del token
+ * El resultado se guarda en una caché acotada y de TTL corto para evitar
+ * una consulta a la base de datos por cada petición; GestionUsuarioService
+ * la invalida cuando cambian los datos, el rol o el estado del usuario.
+ * La lectura va a la primaria (ver UsuarioPersistenceAdapter.buscarPorId): una
+ * fila atrasada de la réplica volvería a la caché después de la invalidación
+ */
+@Component
+@RequiredArgsConstructor
+public class CargadorPrincipal {
+
+    private final UsuarioRepositoryPort usuarioRepositoryPort;
+
+    @Cacheable(value = CacheConfig.PRINCIPALES, key = "#usuarioId")
+    public Optional<Usuario> cargar(Long usuarioId) {
+        return usuarioRepositoryPort.buscarPorId(usuarioId);
+    }
+}
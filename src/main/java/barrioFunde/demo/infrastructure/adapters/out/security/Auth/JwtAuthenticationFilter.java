@@ -1,20 +1,24 @@
 package barrioFunde.demo.infrastructure.adapters.out.security.Auth;
 
 
+import barrioFunde.demo.application.jfr.PeticionHttpEvent;
 import barrioFunde.demo.application.ports.out.Auth.JwtTokenPort;
-import barrioFunde.demo.application.ports.out.UsuarioRepositoryPort;
+import barrioFunde.demo.application.ports.out.Auth.RevocacionTokenPort;
+import barrioFunde.demo.domain.model.Auth.DatosToken;
 import barrioFunde.demo.domain.model.Usuario;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
 
 import java.io.IOException;
 import java.util.Collections;
@@ -23,13 +27,22 @@ import java.util.Optional;
 /**
  * Filtro JWT que intercepta cada petición HTTP
  * Valida el token y establece la autenticación en el contexto de Spring Security
+ * Cada petición se registra como evento JFR barrioFunde.PeticionHttp
  */
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenPort jwtTokenPort;
-    private final UsuarioRepositoryPort usuarioRepositoryPort;
+    private final CargadorPrincipal cargadorPrincipal;
+    private final RevocacionTokenPort revocacionTokenPort;
+
+    /**
+     * Si está activo, el principal se construye solo con los claims del token
+     * (sin consultar la base de datos) y la revocación se verifica por el instante de emisión
+     */
+    @Value("${jwt.principal-sin-estado:false}")
+    private boolean principalSinEstado;
 
     @Override
     protected void doFilterInternal(
@@ -37,16 +50,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             HttpServletResponse response,
             FilterChain filterChain) throws ServletException, IOException {
 
+        PeticionHttpEvent evento = PeticionHttpEvent.iniciar(request.getMethod());
+        long inicioValidacion = System.nanoTime();
+        Long usuarioId = null;
+
         try {
             // 1. Extraer token del header Authorization
             String token = extractTokenFromRequest(request);
 
-            if (token != null && jwtTokenPort.validateToken(token)) {
-                // 2. Extraer email del token
-                String email = jwtTokenPort.extractEmail(token);
+            // 2. Validar y leer el token en un solo parseo
+            Optional<DatosToken> datosOpt = token != null ? jwtTokenPort.leerToken(token) : Optional.empty();
 
-                // 3. Buscar usuario en la base de datos
-                Optional<Usuario> usuarioOpt = usuarioRepositoryPort.buscarPorEmail(email);
+            if (datosOpt.isPresent()) {
+                // 3. Obtener el usuario autenticado
+                Optional<Usuario> usuarioOpt = resolverPrincipal(datosOpt.get());
 
                 if (usuarioOpt.isPresent() && SecurityContextHolder.getContext().getAuthentication() == null) {
                     Usuario usuario = usuarioOpt.get();
@@ -67,14 +84,56 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
                     // 5. Establecer autenticación en el contexto
                     SecurityContextHolder.getContext().setAuthentication(authentication);
+                    usuarioId = usuario.getId();
                 }
             }
         } catch (Exception e) {
             logger.error("Error al procesar el token JWT", e);
         }
+        evento.tokenValidado(usuarioId, System.nanoTime() - inicioValidacion);
 
         // 6. Continuar con la cadena de filtros
-        filterChain.doFilter(request, response);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            evento.registrar(endpoint(request), response.getStatus());
+        }
+    }
+
+    /**
+     * Patrón del controlador que atendió la petición (lo deja el DispatcherServlet),
+     * así /api/donaciones/7 y /api/donaciones/8 cuentan como el mismo endpoint
+     */
+    private static String endpoint(HttpServletRequest request) {
+        Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return patron != null ? patron.toString() : request.getRequestURI();
+    }
+
+    /**
+     * Obtiene el usuario del token según el modo configurado
+     * - Sin estado: se arma con los claims si el token se emitió después de la
+     *   última revocación del usuario conocida en este nodo
+     * - Por defecto: se carga (caché de principales, TTL corto) y se descarta
+     *   si cambió el email o fue desactivado
+     */
+    Optional<Usuario> resolverPrincipal(DatosToken datos) {
+        if (principalSinEstado) {
+            if (!revocacionTokenPort.esVigente(datos.getUsuarioId(), datos.getEmitidoEn())) {
+                return Optional.empty();
+            }
+
+            return Optional.of(Usuario.builder()
+                    .id(datos.getUsuarioId())
+                    .email(datos.getEmail())
+                    .nombre(datos.getNombre())
+                    .rol(datos.getRol())
+                    .activo(true)
+                    .build());
+        }
+
+        return cargadorPrincipal.cargar(datos.getUsuarioId())
+                .filter(u -> u.getEmail().equals(datos.getEmail()))
+                .filter(u -> Boolean.TRUE.equals(u.getActivo()));
     }
 
     /**
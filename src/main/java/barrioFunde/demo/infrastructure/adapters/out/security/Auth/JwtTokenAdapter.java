@@ -2,18 +2,25 @@ package barrioFunde.demo.infrastructure.adapters.out.security.Auth;
 
 
 import barrioFunde.demo.application.ports.out.Auth.JwtTokenPort;
+import barrioFunde.demo.domain.model.Auth.DatosToken;
 import barrioFunde.demo.domain.model.Usuario;
+import barrioFunde.demo.domain.model.enums.RolUsuario;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
+import javax.crypto.SecretKey;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 
 /**
@@ -23,11 +30,25 @@ import java.util.function.Function;
 @Component
 public class JwtTokenAdapter implements JwtTokenPort {
 
-    @Value("${jwt.secret:miClaveSecretaSuperSeguraParaJWT2024DebeSerLargaYCompleja}")
-    private String secretKey;
+    // Instante de emisión en ms: el iat estándar está en segundos y no alcanza
+    // para ordenar un token respecto de una revocación
+    static final String CLAIM_EMITIDO = "emitido";
 
-    @Value("${jwt.expiration:86400000}") // 24 horas en milisegundos
-    private Long jwtExpiration;
+    private final Long jwtExpiration;
+
+    // Se derivan una sola vez: la clave y el parser son inmutables y seguros entre hilos
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+
+    public JwtTokenAdapter(
+            @Value("${jwt.secret:miClaveSecretaSuperSeguraParaJWT2024DebeSerLargaYCompleja}") String secretKey,
+            @Value("${jwt.expiration:86400000}") Long jwtExpiration) { // 24 horas en milisegundos
+        this.jwtExpiration = jwtExpiration;
+        this.signingKey = Keys.hmacShaKeyFor(secretKey.getBytes());
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
 
     @Override
     public String generateToken(Usuario usuario) {
@@ -42,6 +63,7 @@ public class JwtTokenAdapter implements JwtTokenPort {
 
     private String createToken(Map<String, Object> claims, String subject) {
         Date now = new Date();
+        claims.put(CLAIM_EMITIDO, now.getTime());
         Date expirationDate = new Date(now.getTime() + jwtExpiration);
 
         return Jwts.builder()
@@ -49,21 +71,37 @@ public class JwtTokenAdapter implements JwtTokenPort {
                 .setSubject(subject)
                 .setIssuedAt(now)
                 .setExpiration(expirationDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     @Override
-    public boolean validateToken(String token) {
+    public Optional<DatosToken> leerToken(String token) {
+        Claims claims;
         try {
-            Jwts.parser()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return !isTokenExpired(token);
-        } catch (Exception e) {
-            return false;
+            // parseClaimsJws valida firma y expiración en la misma pasada
+            claims = extractAllClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
         }
+
+        String rol = claims.get("rol", String.class);
+        // Tokens anteriores a este claim: el iat, redondeado a segundos
+        Long emitido = claims.get(CLAIM_EMITIDO, Long.class);
+
+        return Optional.of(DatosToken.builder()
+                .usuarioId(claims.get("userId", Long.class))
+                .email(claims.getSubject())
+                .nombre(claims.get("nombre", String.class))
+                .rol(rol != null ? RolUsuario.valueOf(rol) : null)
+                .expiresAt(LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault()))
+                .emitidoEn(emitido != null ? emitido : claims.getIssuedAt().getTime())
+                .build());
+    }
+
+    @Override
+    public boolean validateToken(String token) {
+        return leerToken(token).isPresent();
     }
 
     @Override
@@ -83,23 +121,6 @@ public class JwtTokenAdapter implements JwtTokenPort {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    private Key getSigningKey() {
-        byte[] keyBytes = secretKey.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+        return parser.parseSignedClaims(token).getPayload();
     }
 }
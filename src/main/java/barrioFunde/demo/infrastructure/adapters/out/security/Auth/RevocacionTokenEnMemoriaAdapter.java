@@ -0,0 +1,46 @@
+package barrioFunde.demo.infrastructure.adapters.out.security.Auth;
+
+import barrioFunde.demo.application.ports.out.Auth.RevocacionTokenPort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Adaptador que implementa RevocacionTokenPort con una tabla en memoria
+ * Guarda el instante (ms) de la última revocación del usuario; el token lleva
+ * el instante en que se emitió, así que uno emitido después de la revocación vale
+ * en todos los nodos, no solo en el que lo emitió. La revocación solo la conoce
+ * este nodo (ver RevocacionTokenPort). Solo se guardan usuarios con revocaciones más recientes que la vida de un token:
+ * pasado ese tiempo todos los tokens anteriores ya expiraron por sí solos.
+ * La tabla se pierde al reiniciar (los tokens revocados vuelven a valer hasta su expiración)
+ */
+@Component
+public class RevocacionTokenEnMemoriaAdapter implements RevocacionTokenPort {
+
+    private final Map<Long, Long> revocaciones = new ConcurrentHashMap<>();
+
+    @Value("${jwt.expiration:86400000}")
+    private Long jwtExpiration;
+
+    @Override
+    public long revocadoHasta(Long usuarioId) {
+        return revocaciones.getOrDefault(usuarioId, 0L);
+    }
+
+    @Override
+    public void revocar(Long usuarioId) {
+        long ahora = System.currentTimeMillis();
+
+        // Siempre creciente, aunque haya dos revocaciones en el mismo milisegundo
+        revocaciones.merge(usuarioId, ahora, (anterior, nueva) -> Math.max(anterior + 1, nueva));
+
+        purgarExpiradas(ahora);
+    }
+
+    private void purgarExpiradas(long ahora) {
+        long limite = ahora - jwtExpiration;
+        revocaciones.values().removeIf(instante -> instante < limite);
+    }
+}
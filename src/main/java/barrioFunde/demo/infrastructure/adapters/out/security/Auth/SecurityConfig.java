@@ -1,5 +1,6 @@
 package barrioFunde.demo.infrastructure.adapters.out.security.Auth;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.security.autoconfigure.actuate.web.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -59,6 +60,10 @@ public class SecurityConfig {
                         // El ranking es público
                         .requestMatchers(HttpMethod.GET, "/api/donaciones/ranking/**").permitAll()
 
+                        // Health y métricas para Prometheus: solo se sirven en el puerto
+                        // interno de management (management.server.port)
+                        .requestMatchers(EndpointRequest.to("health", "prometheus")).permitAll()
+
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session
@@ -0,0 +1,54 @@
+package barrioFunde.demo.infrastructure.adapters.out.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.time.Duration;
+
+/**
+ * Comprueba el costo de BCrypt contra el hardware del nodo
+ * El costo es el mismo en todo el clúster (configurado); aquí solo se estima
+ * cuánto tarda un hash en este nodo y se avisa si supera el tiempo objetivo.
+ * No elige el costo: si cada nodo calibrara el suyo, los rehash al iniciar sesión
+ * subirían los hashes al costo del nodo más rápido y los lentos no darían abasto
+ */
+@Slf4j
+public final class CalibradorCostoBCrypt {
+
+    private static final int MUESTRAS = 3;
+    private static final int COSTO_MEDICION = 8;
+    private static final String PASSWORD_PRUEBA = "calibracion-bcrypt";
+
+    private CalibradorCostoBCrypt() {
+    }
+
+    /**
+     * @param costo Costo configurado para el clúster
+     * @param objetivo Tiempo máximo deseado por hash
+     * @return Tiempo estimado de un hash con ese costo en este nodo
+     */
+    public static Duration comprobar(int costo, Duration objetivo) {
+        // Se mide con un costo bajo y se extrapola: cada punto de costo duplica el trabajo
+        int costoMedicion = Math.min(costo, COSTO_MEDICION);
+
+        // Calentamiento (JIT) antes de medir
+        BCrypt.hashpw(PASSWORD_PRUEBA, BCrypt.gensalt(costoMedicion));
+
+        long mejorNanos = Long.MAX_VALUE;
+        for (int i = 0; i < MUESTRAS; i++) {
+            long inicio = System.nanoTime();
+            BCrypt.hashpw(PASSWORD_PRUEBA, BCrypt.gensalt(costoMedicion));
+            mejorNanos = Math.min(mejorNanos, System.nanoTime() - inicio);
+        }
+        Duration estimado = Duration.ofNanos(mejorNanos << (costo - costoMedicion));
+
+        if (estimado.compareTo(objetivo) > 0) {
+            log.warn("Costo BCrypt {}: ~{} ms por hash en este nodo, por encima del objetivo de {} ms",
+                    costo, estimado.toMillis(), objetivo.toMillis());
+        } else {
+            log.info("Costo BCrypt {}: ~{} ms por hash en este nodo (objetivo {} ms)",
+                    costo, estimado.toMillis(), objetivo.toMillis());
+        }
+        return estimado;
+    }
+}
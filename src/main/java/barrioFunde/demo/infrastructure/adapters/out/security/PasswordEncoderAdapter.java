@@ -1,27 +1,83 @@
 package barrioFunde.demo.infrastructure.adapters.out.security;
 
 import barrioFunde.demo.application.ports.out.PasswordEncoderPort;
-import lombok.RequiredArgsConstructor;
+import barrioFunde.demo.infrastructure.encriptacion.config.HashingConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
 /**
  * Adaptador de encriptación - Implementa el puerto PasswordEncoderPort
  * INFRAESTRUCTURA - Usa Spring Security BCryptPasswordEncoder
+ *
+ * Todo el hashing corre en el executor acotado de HashingConfig. Es solo un
+ * límite de concurrencia: el hilo de la petición espera el resultado, pero no
+ * hay más de N hashes de BCrypt a la vez y, con la cola llena, se rechaza (503)
+ * en lugar de acumular peticiones
  */
 @Component
-@RequiredArgsConstructor
 public class PasswordEncoderAdapter implements PasswordEncoderPort {
 
     private final PasswordEncoder springPasswordEncoder;
+    private final ExecutorService hashExecutor;
+    private final Timer tiempoEncode;
+    private final Timer tiempoMatches;
+
+    public PasswordEncoderAdapter(
+            PasswordEncoder springPasswordEncoder,
+            @Qualifier(HashingConfig.HASH_EXECUTOR) ExecutorService hashExecutor,
+            MeterRegistry meterRegistry) {
+        this.springPasswordEncoder = springPasswordEncoder;
+        this.hashExecutor = hashExecutor;
+        this.tiempoEncode = temporizador(meterRegistry, "encode");
+        this.tiempoMatches = temporizador(meterRegistry, "matches");
+    }
 
     @Override
     public String encode(String rawPassword) {
-        return springPasswordEncoder.encode(rawPassword);
+        return ejecutar(tiempoEncode, () -> springPasswordEncoder.encode(rawPassword));
     }
 
     @Override
     public boolean matches(String rawPassword, String encodedPassword) {
-        return springPasswordEncoder.matches(rawPassword, encodedPassword);
+        return ejecutar(tiempoMatches, () -> springPasswordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean requiereRehash(String encodedPassword) {
+        // Solo lee el costo del hash, no hace falta el executor
+        return springPasswordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Encola la operación y espera el resultado
+     * Si la cola está llena supplyAsync lanza RejectedExecutionException
+     */
+    private <T> T ejecutar(Timer timer, Supplier<T> operacion) {
+        Timer.Sample muestra = Timer.start();
+        try {
+            return CompletableFuture.supplyAsync(operacion, hashExecutor)
+                    .whenComplete((resultado, error) -> muestra.stop(timer))
+                    .join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    private static Timer temporizador(MeterRegistry meterRegistry, String operacion) {
+        return Timer.builder("hash.latencia")
+                .description("Tiempo total de hashing, incluida la espera en cola")
+                .tag("operacion", operacion)
+                .register(meterRegistry);
     }
-}
\ No newline at end of file
+}
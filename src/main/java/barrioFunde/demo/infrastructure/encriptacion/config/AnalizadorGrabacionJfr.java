@@ -0,0 +1,218 @@
+package barrioFunde.demo.infrastructure.encriptacion.config;
+
+import barrioFunde.demo.application.jfr.AutenticacionEvent;
+import barrioFunde.demo.application.jfr.ConsultaPersistenciaEvent;
+import barrioFunde.demo.application.jfr.OperacionDonacionEvent;
+import barrioFunde.demo.application.jfr.PeticionHttpEvent;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Resumen por endpoint de una grabación JFR hecha con jfr/donaciones.jfc
+ *
+ * Cada evento barrioFunde.* se asigna a la petición (barrioFunde.PeticionHttp) del
+ * mismo hilo que lo contiene en el tiempo; los que no caen en ninguna (jobs,
+ * arranque) se agrupan en FUERA_DE_PETICIONES.
+ *
+ * Uso, con el jar de la aplicación:
+ *   java -cp app.jar -Dloader.main=barrioFunde.demo.infrastructure.encriptacion.config.AnalizadorGrabacionJfr \
+ *        org.springframework.boot.loader.launch.PropertiesLauncher grabacion.jfr
+ */
+public final class AnalizadorGrabacionJfr {
+
+    static final String FUERA_DE_PETICIONES = "(fuera de peticiones)";
+
+    private AnalizadorGrabacionJfr() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Uso: AnalizadorGrabacionJfr <grabacion.jfr>");
+            System.exit(2);
+        }
+        imprimir(analizar(Path.of(args[0])), System.out);
+    }
+
+    /**
+     * Endpoints ordenados por tiempo total, de mayor a menor
+     */
+    public static List<ResumenEndpoint> analizar(Path grabacion) throws IOException {
+        List<RecordedEvent> eventos = RecordingFile.readAllEvents(grabacion);
+
+        // 1. Peticiones por hilo, ordenadas por inicio
+        Map<String, Acumulador> porEndpoint = new HashMap<>();
+        Map<Long, TreeMap<Instant, Peticion>> peticionesPorHilo = new HashMap<>();
+        for (RecordedEvent evento : eventos) {
+            if (!evento.getEventType().getName().equals(PeticionHttpEvent.NOMBRE)) {
+                continue;
+            }
+            String endpoint = evento.getString("metodo") + " " + evento.getString("endpoint");
+            Acumulador acumulador = porEndpoint.computeIfAbsent(endpoint, Acumulador::new);
+            acumulador.peticion(evento);
+
+            peticionesPorHilo.computeIfAbsent(hilo(evento), h -> new TreeMap<>())
+                    .put(evento.getStartTime(), new Peticion(evento.getEndTime(), acumulador));
+        }
+
+        // 2. Cada evento de la aplicación suma en la petición que lo contiene
+        for (RecordedEvent evento : eventos) {
+            String tipo = evento.getEventType().getName();
+            if (!tipo.startsWith("barrioFunde.") || tipo.equals(PeticionHttpEvent.NOMBRE)) {
+                continue;
+            }
+            contenedora(peticionesPorHilo, evento)
+                    .orElseGet(() -> porEndpoint.computeIfAbsent(FUERA_DE_PETICIONES, Acumulador::new))
+                    .evento(tipo, evento);
+        }
+
+        return porEndpoint.values().stream()
+                .map(Acumulador::resumen)
+                .sorted(Comparator.comparing(ResumenEndpoint::total).reversed())
+                .toList();
+    }
+
+    static void imprimir(List<ResumenEndpoint> resumenes, PrintStream salida) {
+        salida.printf("%-45s %8s %7s %9s %9s %9s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "pet.", "errores", "p50 ms", "p99 ms", "max ms",
+                "token ms", "auth ms", "don. ms", "consultas", "cons. ms", "filas");
+        for (ResumenEndpoint r : resumenes) {
+            // Por petición; fuera de peticiones, totales
+            int divisor = Math.max(r.peticiones(), 1);
+            salida.printf("%-45s %8d %7d %9.1f %9.1f %9.1f %9.2f %9.2f %9.2f %9.1f %9.2f %9.1f%n",
+                    r.endpoint(), r.peticiones(), r.errores(),
+                    ms(r.p50()), ms(r.p99()), ms(r.maxima()),
+                    ms(r.validacionToken()) / divisor, ms(r.autenticacion()) / divisor,
+                    ms(r.operacionesDonacion()) / divisor,
+                    (double) r.consultas() / divisor, ms(r.tiempoConsultas()) / divisor,
+                    (double) r.filas() / divisor);
+        }
+    }
+
+    private static Optional<Acumulador> contenedora(Map<Long, TreeMap<Instant, Peticion>> peticionesPorHilo,
+                                                RecordedEvent evento) {
+        TreeMap<Instant, Peticion> peticiones = peticionesPorHilo.get(hilo(evento));
+        if (peticiones == null) {
+            return Optional.empty();
+        }
+        Map.Entry<Instant, Peticion> anterior = peticiones.floorEntry(evento.getStartTime());
+        if (anterior == null || anterior.getValue().fin().isBefore(evento.getEndTime())) {
+            return Optional.empty();
+        }
+        return Optional.of(anterior.getValue().acumulador());
+    }
+
+    private static long hilo(RecordedEvent evento) {
+        RecordedThread hilo = evento.getThread();
+        return hilo != null ? hilo.getJavaThreadId() : -1;
+    }
+
+    private static double ms(Duration duracion) {
+        return duracion.toNanos() / 1_000_000.0;
+    }
+
+    /**
+     * Totales de un endpoint; los tiempos de token, autenticación, donaciones y
+     * consultas son la suma de todas sus peticiones
+     */
+    public record ResumenEndpoint(
+            String endpoint,
+            int peticiones,
+            int errores,
+            Duration total,
+            Duration p50,
+            Duration p99,
+            Duration maxima,
+            Duration validacionToken,
+            Duration autenticacion,
+            Duration operacionesDonacion,
+            int consultas,
+            Duration tiempoConsultas,
+            long filas
+    ) {
+    }
+
+    private record Peticion(Instant fin, Acumulador acumulador) {
+    }
+
+    private static final class Acumulador {
+
+        private final String endpoint;
+        private final List<Duration> duraciones = new ArrayList<>();
+        private int errores;
+        private Duration validacionToken = Duration.ZERO;
+        private Duration autenticacion = Duration.ZERO;
+        private Duration operacionesDonacion = Duration.ZERO;
+        private int consultas;
+        private Duration tiempoConsultas = Duration.ZERO;
+        private long filas;
+
+        Acumulador(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        void peticion(RecordedEvent evento) {
+            duraciones.add(evento.getDuration());
+            validacionToken = validacionToken.plus(evento.getDuration("validacionToken"));
+            if (evento.getInt("estado") >= 500) {
+                errores++;
+            }
+        }
+
+        void evento(String tipo, RecordedEvent evento) {
+            switch (tipo) {
+                case AutenticacionEvent.NOMBRE -> autenticacion = autenticacion.plus(evento.getDuration());
+                case OperacionDonacionEvent.NOMBRE -> operacionesDonacion = operacionesDonacion.plus(evento.getDuration());
+                case ConsultaPersistenciaEvent.NOMBRE -> {
+                    consultas++;
+                    tiempoConsultas = tiempoConsultas.plus(evento.getDuration());
+                    filas += evento.getInt("filas");
+                }
+                default -> {
+                    // Eventos barrioFunde.* que este analizador no conoce
+                }
+            }
+        }
+
+        ResumenEndpoint resumen() {
+            List<Duration> ordenadas = duraciones.stream().sorted().toList();
+            return new ResumenEndpoint(
+                    endpoint,
+                    ordenadas.size(),
+                    errores,
+                    ordenadas.stream().reduce(Duration.ZERO, Duration::plus),
+                    percentil(ordenadas, 0.50),
+                    percentil(ordenadas, 0.99),
+                    ordenadas.isEmpty() ? Duration.ZERO : ordenadas.getLast(),
+                    validacionToken,
+                    autenticacion,
+                    operacionesDonacion,
+                    consultas,
+                    tiempoConsultas,
+                    filas
+            );
+        }
+
+        // Nearest-rank: el valor que deja al menos la fracción p de las peticiones por debajo
+        private static Duration percentil(List<Duration> ordenadas, double p) {
+            if (ordenadas.isEmpty()) {
+                return Duration.ZERO;
+            }
+            int indice = (int) Math.ceil(p * ordenadas.size()) - 1;
+            return ordenadas.get(Math.max(indice, 0));
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package barrioFunde.demo.infrastructure.encriptacion.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita @Async y @Scheduled
+ * Usa los executors autoconfigurados por Spring Boot: con
+ * spring.threads.virtual.enabled=true cada tarea corre en un hilo virtual
+ */
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class AsyncConfig {
+}
@@ -1,12 +1,16 @@
 package barrioFunde.demo.infrastructure.encriptacion.config;
 
 import barrioFunde.demo.application.ports.out.Auth.JwtTokenPort;
+import barrioFunde.demo.application.ports.out.Auth.RevocacionTokenPort;
 import barrioFunde.demo.application.ports.out.DonacionRepositoryPort;
 import barrioFunde.demo.application.ports.out.PasswordEncoderPort;
 import barrioFunde.demo.application.ports.out.UsuarioRepositoryPort;
 import barrioFunde.demo.application.ports.usecases.Auth.AutenticacionService;
 import barrioFunde.demo.application.ports.usecases.GestionDonacionService;
 import barrioFunde.demo.application.ports.usecases.GestionUsuarioService;
+import barrioFunde.demo.application.ports.usecases.TablaPosicionesDonantes;
+import barrioFunde.demo.infrastructure.adapters.out.security.CalibradorCostoBCrypt;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -16,6 +20,8 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 
+import java.time.Duration;
+
 /**
  * Configuración de beans de Spring
  * INFRAESTRUCTURA - Aquí es donde conectamos todo
@@ -30,10 +36,17 @@ public class BeanConfiguration {
     /**
      * Bean del PasswordEncoder de Spring Security
      * Este bean será inyectado en el PasswordEncoderAdapter
+     * El costo es el mismo en todos los nodos; los hashes con costo menor se
+     * regeneran al iniciar sesión. Al arrancar solo se avisa si este nodo tarda
+     * más que el tiempo objetivo con ese costo
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${app.hash.costo:12}") int costo,
+            @Value("${app.hash.tiempo-objetivo:250ms}") Duration tiempoObjetivo) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(costo);
+        CalibradorCostoBCrypt.comprobar(costo, tiempoObjetivo);
+        return encoder;
     }
 
     /**
@@ -42,14 +55,16 @@ public class BeanConfiguration {
      *
      * @param repositoryPort Puerto de salida para persistencia (implementado por UsuarioPersistenceAdapter)
      * @param passwordEncoderPort Puerto de salida para encriptación (implementado por PasswordEncoderAdapter)
+     * @param revocacionTokenPort Puerto de salida para revocar tokens (implementado por RevocacionTokenEnMemoriaAdapter)
      * @return Servicio de gestión de usuarios
      */
     @Bean
     public GestionUsuarioService gestionUsuarioService(
             UsuarioRepositoryPort repositoryPort,
-            PasswordEncoderPort passwordEncoderPort) {
+            PasswordEncoderPort passwordEncoderPort,
+            RevocacionTokenPort revocacionTokenPort) {
 
-        return new GestionUsuarioService(repositoryPort, passwordEncoderPort);
+        return new GestionUsuarioService(repositoryPort, passwordEncoderPort, revocacionTokenPort);
     }
 
 
@@ -72,9 +87,23 @@ public class BeanConfiguration {
     //DOaciones
     @Bean
     public GestionDonacionService gestionDonacionService(
-            DonacionRepositoryPort donacionRepositoryPort
+            DonacionRepositoryPort donacionRepositoryPort,
+            UsuarioRepositoryPort usuarioRepositoryPort,
+            TablaPosicionesDonantes tablaPosicionesDonantes
     ) {
-        return new GestionDonacionService(donacionRepositoryPort);
+        return new GestionDonacionService(
+                donacionRepositoryPort,
+                usuarioRepositoryPort,
+                tablaPosicionesDonantes
+        );
+    }
+
+    /**
+     * Tabla de posiciones de donantes en memoria (se carga en RankingInicializador)
+     */
+    @Bean
+    public TablaPosicionesDonantes tablaPosicionesDonantes() {
+        return new TablaPosicionesDonantes();
     }
 
 
@@ -1,17 +1,70 @@
 package barrioFunde.demo.infrastructure.encriptacion.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.List;
+
+/**
+ * Cachés acotadas con Caffeine
+ * Cada caché tiene TTL y tamaño máximo propios (ver CacheProperties)
+ * y registra estadísticas de aciertos, fallos y desalojos
+ */
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
 public class CacheConfig {
 
+    public static final String RANKING_DONANTES = "rankingDonantes";
+    public static final String PRINCIPALES = "principales";
+
     @Bean
-    public CacheManager cacheManager() {
-        return new ConcurrentMapCacheManager("rankingDonantes");
+    public CacheManager cacheManager(CacheProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+
+        // Cachés no declaradas usan la especificación por defecto
+        cacheManager.setCaffeine(construir(properties.getPorDefecto()));
+
+        properties.getCaches().forEach((nombre, especificacion) ->
+                cacheManager.registerCustomCache(nombre, construir(especificacion).build()));
+
+        for (String nombre : List.of(RANKING_DONANTES, PRINCIPALES)) {
+            if (!properties.getCaches().containsKey(nombre)) {
+                cacheManager.registerCustomCache(nombre, construir(properties.getPorDefecto()).build());
+            }
+        }
+
+        return cacheManager;
+    }
+
+    /**
+     * Proporción de aciertos de cada caché desde el arranque (cache.aciertos.ratio)
+     * La tasa por ventana de tiempo sale de cache.gets{result=hit|miss}, que registra Spring Boot
+     */
+    @Bean
+    public MeterBinder ratioAciertosCache(CacheManager cacheManager) {
+        return registry -> cacheManager.getCacheNames().forEach(nombre -> {
+            if (cacheManager.getCache(nombre) instanceof CaffeineCache cache) {
+                Gauge.builder("cache.aciertos.ratio", cache.getNativeCache(), nativa -> nativa.stats().hitRate())
+                        .description("Aciertos / consultas de la caché desde el arranque")
+                        .tag("cache", nombre)
+                        .register(registry);
+            }
+        });
+    }
+
+    private static Caffeine<Object, Object> construir(CacheProperties.Especificacion especificacion) {
+        return Caffeine.newBuilder()
+                .expireAfterWrite(especificacion.getTtl())
+                .maximumSize(especificacion.getMaximoEntradas())
+                .recordStats();
     }
 }
@@ -0,0 +1,40 @@
+package barrioFunde.demo.infrastructure.encriptacion.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuración de las cachés de la aplicación (prefijo app.cache)
+ *
+ * Ejemplo en application.properties:
+ *   app.cache.caches[rankingDonantes].ttl=1h
+ *   app.cache.caches[rankingDonantes].maximo-entradas=50
+ */
+@Data
+@ConfigurationProperties(prefix = "app.cache")
+public class CacheProperties {
+
+    /**
+     * Valores usados por cualquier caché sin configuración propia
+     */
+    private Especificacion porDefecto = new Especificacion();
+
+    /**
+     * Configuración por nombre de caché
+     */
+    private Map<String, Especificacion> caches = new HashMap<>();
+
+    @Data
+    public static class Especificacion {
+
+        // Tiempo de vida de cada entrada desde que se escribe
+        private Duration ttl = Duration.ofMinutes(10);
+
+        // Número máximo de entradas antes de desalojar las menos usadas
+        private long maximoEntradas = 1_000;
+    }
+}
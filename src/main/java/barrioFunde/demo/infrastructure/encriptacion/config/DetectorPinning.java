@@ -0,0 +1,106 @@
+package barrioFunde.demo.infrastructure.encriptacion.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Detecta hilos virtuales "clavados" (pinned) a su hilo portador
+ * Escucha el evento JFR jdk.VirtualThreadPinned: un hilo virtual que bloquea
+ * dentro de un bloque synchronized (o código nativo) no libera el portador,
+ * y con pocos portadores eso frena todas las peticiones.
+ *
+ * Métrica: hilos.virtuales.pinning (tag capa=persistencia|otra).
+ * Cada punto de pinning distinto se registra en el log una sola vez con su pila
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@Slf4j
+public class DetectorPinning {
+
+    private static final String EVENTO = "jdk.VirtualThreadPinned";
+    private static final List<String> PAQUETES_PERSISTENCIA =
+            List.of("org.hibernate.", "org.postgresql.", "com.zaxxer.hikari.", "org.springframework.orm.", "org.springframework.jdbc.");
+    private static final int FRAMES_EN_LOG = 12;
+    private static final int MAXIMO_PUNTOS_REPORTADOS = 100;
+
+    private final Duration umbral;
+    private final Counter pinningPersistencia;
+    private final Counter pinningOtro;
+    private final Set<String> puntosReportados = ConcurrentHashMap.newKeySet();
+
+    private RecordingStream stream;
+
+    public DetectorPinning(
+            MeterRegistry meterRegistry,
+            @Value("${app.hilos-virtuales.umbral-pinning:20ms}") Duration umbral) {
+        this.umbral = umbral;
+        this.pinningPersistencia = contador(meterRegistry, "persistencia");
+        this.pinningOtro = contador(meterRegistry, "otra");
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        stream = new RecordingStream();
+        stream.enable(EVENTO).withThreshold(umbral).withStackTrace();
+        stream.onEvent(EVENTO, this::registrar);
+        stream.startAsync();
+        log.info("Detector de pinning de hilos virtuales activo (umbral {} ms)", umbral.toMillis());
+    }
+
+    @PreDestroy
+    public void detener() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void registrar(RecordedEvent evento) {
+        List<RecordedFrame> frames = evento.getStackTrace() != null ? evento.getStackTrace().getFrames() : List.of();
+        boolean persistencia = frames.stream().anyMatch(DetectorPinning::esPersistencia);
+        (persistencia ? pinningPersistencia : pinningOtro).increment();
+
+        String punto = frames.isEmpty() ? "desconocido" : describir(frames.getFirst());
+        if (puntosReportados.size() < MAXIMO_PUNTOS_REPORTADOS && puntosReportados.add(punto)) {
+            log.warn("Hilo virtual clavado {} ms (capa {}) en:\n  {}",
+                    evento.getDuration().toMillis(),
+                    persistencia ? "persistencia" : "otra",
+                    frames.stream().limit(FRAMES_EN_LOG).map(DetectorPinning::describir)
+                            .collect(Collectors.joining("\n  ")));
+        }
+    }
+
+    private static boolean esPersistencia(RecordedFrame frame) {
+        String clase = frame.getMethod().getType().getName();
+        return PAQUETES_PERSISTENCIA.stream().anyMatch(clase::startsWith);
+    }
+
+    private static String describir(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    private static Counter contador(MeterRegistry meterRegistry, String capa) {
+        return Counter.builder("hilos.virtuales.pinning")
+                .description("Hilos virtuales bloqueados sin liberar su hilo portador")
+                .tag("capa", capa)
+                .register(meterRegistry);
+    }
+
+    double totalDetectados() {
+        return pinningPersistencia.count() + pinningOtro.count();
+    }
+}
@@ -0,0 +1,59 @@
+package barrioFunde.demo.infrastructure.encriptacion.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor dedicado al hashing de contraseñas (BCrypt)
+ * El trabajo de CPU queda aislado de los hilos de Tomcat: como mucho
+ * "hilos" hashes en paralelo y "capacidad-cola" en espera; el resto se rechaza
+ * con RejectedExecutionException (los controladores responden 503)
+ *
+ * Métricas: executor.* (tag name=hash), hash.rechazos
+ */
+@Configuration
+public class HashingConfig {
+
+    public static final String HASH_EXECUTOR = "hashExecutor";
+
+    @Bean(name = HASH_EXECUTOR, destroyMethod = "shutdown")
+    public ExecutorService hashExecutor(
+            @Value("${app.hash.hilos:0}") int hilos,
+            @Value("${app.hash.capacidad-cola:64}") int capacidadCola,
+            MeterRegistry meterRegistry) {
+
+        int tamano = hilos > 0 ? hilos : Runtime.getRuntime().availableProcessors();
+        Counter rechazos = Counter.builder("hash.rechazos")
+                .description("Operaciones de hashing rechazadas por cola llena")
+                .register(meterRegistry);
+
+        AtomicInteger contador = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                tamano, tamano,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadCola),
+                tarea -> {
+                    Thread hilo = new Thread(tarea, "hash-" + contador.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                },
+                (tarea, ejecutor) -> {
+                    rechazos.increment();
+                    throw new RejectedExecutionException("Cola de hashing llena");
+                });
+
+        // Tamaño de cola, hilos activos y tiempos de espera/ejecución
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "hash");
+    }
+}
@@ -0,0 +1,123 @@
+package barrioFunde.demo.infrastructure.encriptacion.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencia y throughput de cada método de los puertos de la aplicación
+ *
+ * - puertos.entrada: casos de uso (application.ports.in), la operación completa
+ * - puertos.salida: persistencia, hashing y tokens (application.ports.out)
+ *
+ * Tags: puerto (interfaz), metodo, resultado (exito | error) y excepcion.
+ * El count de cada timer es el contador de llamadas (throughput); los histogramas
+ * para percentiles se activan en application.properties (management.metrics.distribution.*)
+ */
+@Aspect
+@Component
+// Por fuera de la transacción y de la caché: se mide lo que ve el llamador, commit incluido
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class MetricasPuertosAspect {
+
+    public static final String ENTRADA = "puertos.entrada";
+    public static final String SALIDA = "puertos.salida";
+
+    private static final String PAQUETE_PUERTOS = "barrioFunde.demo.application.ports";
+
+    private final MeterRegistry meterRegistry;
+
+    // Puerto, método y timer de éxito se resuelven una sola vez por método
+    private final Map<Method, Medicion> mediciones = new ConcurrentHashMap<>();
+
+    public MetricasPuertosAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(* barrioFunde.demo.application.ports.in..*.*(..))")
+    public Object medirEntrada(ProceedingJoinPoint punto) throws Throwable {
+        return medir(ENTRADA, punto);
+    }
+
+    @Around("execution(* barrioFunde.demo.application.ports.out..*.*(..))")
+    public Object medirSalida(ProceedingJoinPoint punto) throws Throwable {
+        return medir(SALIDA, punto);
+    }
+
+    private Object medir(String nombre, ProceedingJoinPoint punto) throws Throwable {
+        Method metodo = ((MethodSignature) punto.getSignature()).getMethod();
+        Medicion medicion = mediciones.computeIfAbsent(metodo,
+                m -> new Medicion(nombre, puerto(AopUtils.getTargetClass(punto.getTarget()), m), m.getName()));
+
+        long inicio = System.nanoTime();
+        Object resultado;
+        try {
+            resultado = punto.proceed();
+        } catch (Throwable e) {
+            medicion.registrar(System.nanoTime() - inicio, e);
+            throw e;
+        }
+        medicion.registrar(System.nanoTime() - inicio, null);
+        return resultado;
+    }
+
+    /**
+     * Interfaz de puerto que declara el método; si no hay ninguna, la clase
+     */
+    static String puerto(Class<?> clase, Method metodo) {
+        if (metodo.getDeclaringClass().isInterface()) {
+            return metodo.getDeclaringClass().getSimpleName();
+        }
+        for (Class<?> interfaz : ClassUtils.getAllInterfacesForClassAsSet(clase)) {
+            if (interfaz.getPackageName().startsWith(PAQUETE_PUERTOS)
+                    && ReflectionUtils.findMethod(interfaz, metodo.getName(), metodo.getParameterTypes()) != null) {
+                return interfaz.getSimpleName();
+            }
+        }
+        return clase.getSimpleName();
+    }
+
+    private final class Medicion {
+
+        private final String nombre;
+        private final String puerto;
+        private final String metodo;
+        private final Timer exito;
+
+        Medicion(String nombre, String puerto, String metodo) {
+            this.nombre = nombre;
+            this.puerto = puerto;
+            this.metodo = metodo;
+            this.exito = timer("exito", "ninguna");
+        }
+
+        void registrar(long nanos, Throwable error) {
+            Timer timer = error == null ? exito : timer("error", error.getClass().getSimpleName());
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        private Timer timer(String resultado, String excepcion) {
+            return Timer.builder(nombre)
+                    .description("Latencia de los métodos de los puertos de la aplicación")
+                    .tag("puerto", puerto)
+                    .tag("metodo", metodo)
+                    .tag("resultado", resultado)
+                    .tag("excepcion", excepcion)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package barrioFunde.demo.infrastructure.encriptacion.config;
+
+import barrioFunde.demo.application.ports.out.DonacionRepositoryPort;
+import barrioFunde.demo.application.ports.usecases.TablaPosicionesDonantes;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Carga la tabla de posiciones de donantes una vez que la aplicación arrancó
+ * Hasta que termine, el ranking se sigue respondiendo desde la base de datos
+ * Corre con @Async para no retrasar el arranque
+ *
+ * Cada nodo tiene su propia tabla y solo suma las confirmaciones que atiende;
+ * las de los demás nodos llegan con la recarga periódica desde donante_totales.
+ * El ranking de un nodo queda atrasado como mucho app.ranking.recarga (1 minuto)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RankingInicializador {
+
+    private final DonacionRepositoryPort donacionRepositoryPort;
+    private final TablaPosicionesDonantes tablaPosicionesDonantes;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargarTablaPosiciones() {
+        int donantes = tablaPosicionesDonantes.recargar(donacionRepositoryPort::obtenerTotalesPorDonante);
+        log.info("Tabla de posiciones cargada con {} donantes", donantes);
+    }
+
+    @Scheduled(fixedDelayString = "${app.ranking.recarga:PT1M}", initialDelayString = "${app.ranking.recarga:PT1M}")
+    public void recargarTablaPosiciones() {
+        int donantes = tablaPosicionesDonantes.recargar(donacionRepositoryPort::obtenerTotalesPorDonante);
+        log.debug("Tabla de posiciones recargada con {} donantes", donantes);
+    }
+}
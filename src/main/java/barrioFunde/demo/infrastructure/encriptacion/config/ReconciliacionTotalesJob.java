@@ -0,0 +1,42 @@
+package barrioFunde.demo.infrastructure.encriptacion.config;
+
+import barrioFunde.demo.application.ports.out.DonacionRepositoryPort;
+import barrioFunde.demo.application.ports.usecases.TablaPosicionesDonantes;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reconstruye desde cero la tabla donante_totales a partir de las donaciones
+ * Corrige cualquier desvío de los incrementos hechos al confirmar y recarga
+ * la tabla de posiciones en memoria con los totales recalculados
+ * Con varios nodos reconstruye solo uno (advisory lock); los demás solo recargan
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReconciliacionTotalesJob {
+
+    private final DonacionRepositoryPort donacionRepositoryPort;
+    private final TablaPosicionesDonantes tablaPosicionesDonantes;
+
+    @Scheduled(cron = "${app.totales.reconciliacion.cron:0 0 3 * * *}")
+    @CacheEvict(value = CacheConfig.RANKING_DONANTES, allEntries = true)
+    public void reconciliar() {
+        long inicio = System.currentTimeMillis();
+
+        boolean reconstruidos = donacionRepositoryPort.reconstruirTotales();
+
+        int donantes = tablaPosicionesDonantes.recargar(donacionRepositoryPort::obtenerTotalesPorDonante);
+
+        if (reconstruidos) {
+            log.info("Totales por donante reconciliados: {} donantes en {} ms",
+                    donantes, System.currentTimeMillis() - inicio);
+        } else {
+            log.info("Otro nodo está reconciliando los totales; tabla de posiciones recargada con {} donantes",
+                    donantes);
+        }
+    }
+}
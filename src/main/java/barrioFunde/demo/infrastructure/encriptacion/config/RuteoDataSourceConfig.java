@@ -0,0 +1,87 @@
+package barrioFunde.demo.infrastructure.encriptacion.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.boot.jdbc.autoconfigure.JdbcConnectionDetails;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Ruteo de conexiones entre la base primaria y la réplica de lectura
+ *
+ * - Transacciones de solo lectura (casos de uso de consulta) -> pool de la réplica
+ * - Todo lo demás (escrituras, Flyway, operaciones sin transacción) -> pool de la primaria
+ *
+ * El DataSource que ven JPA y Flyway es un LazyConnectionDataSourceProxy: la conexión
+ * real se pide recién en la primera sentencia, cuando la transacción ya marcó la
+ * conexión como read-only, y con esa marca elige el pool. Un AbstractRoutingDataSource
+ * decidiría al abrir la transacción, antes de que Spring aplique el readOnly.
+ *
+ * Las lecturas de Spring Data fuera de un caso de uso también abren una transacción
+ * de solo lectura y van a la réplica. Por eso los casos de uso que leen y después
+ * escriben son @Transactional (de escritura), y las lecturas de usuario del login y
+ * del principal del token abren su propia transacción de escritura: con la réplica
+ * atrasada leerían un rol, un estado o una version viejos.
+ *
+ * Sin app.datasource.replica.jdbc-url todo va a la primaria.
+ */
+@Configuration
+public class RuteoDataSourceConfig {
+
+    /**
+     * Pool de la primaria, con la configuración de siempre (spring.datasource.*)
+     * En los tests, Testcontainers publica la conexión como JdbcConnectionDetails
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimaria(DataSourceProperties properties,
+                                               ObjectProvider<JdbcConnectionDetails> detallesConexion) {
+        JdbcConnectionDetails detalles = detallesConexion.getIfAvailable();
+        DataSourceBuilder<HikariDataSource> builder = detalles != null
+                ? DataSourceBuilder.create(properties.getClassLoader())
+                        .type(HikariDataSource.class)
+                        .url(detalles.getJdbcUrl())
+                        .username(detalles.getUsername())
+                        .password(detalles.getPassword())
+                        .driverClassName(detalles.getDriverClassName())
+                : properties.initializeDataSourceBuilder().type(HikariDataSource.class);
+
+        HikariDataSource primaria = builder.build();
+        primaria.setPoolName("primaria");
+        return primaria;
+    }
+
+    /**
+     * Pool de la réplica (app.datasource.replica.*, mismas propiedades que HikariCP)
+     * Usuario y contraseña son los de la primaria salvo que se indiquen otros
+     */
+    @Bean
+    @ConfigurationProperties("app.datasource.replica")
+    @ConditionalOnProperty(prefix = "app.datasource.replica", name = "jdbc-url")
+    public HikariDataSource dataSourceReplica(DataSourceProperties properties) {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setUsername(properties.determineUsername());
+        replica.setPassword(properties.determinePassword());
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("dataSourcePrimaria") DataSource primaria,
+                                 @Qualifier("dataSourceReplica") ObjectProvider<DataSource> replica) {
+        LazyConnectionDataSourceProxy ruteo = new LazyConnectionDataSourceProxy(primaria);
+        replica.ifAvailable(ruteo::setReadOnlyDataSource);
+        return ruteo;
+    }
+}
@@ -0,0 +1,31 @@
+-- ============================================
+-- Esquema inicial (equivalente al generado por ddl-auto=update)
+-- En bases existentes no se ejecuta: spring.flyway.baseline-on-migrate
+-- las marca en la versión 1 y solo se aplican las migraciones siguientes
+-- ============================================
+
+CREATE TABLE usuarios (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nombre              VARCHAR(100) NOT NULL,
+    email               VARCHAR(150) NOT NULL,
+    password            VARCHAR(255) NOT NULL,
+    rol                 VARCHAR(20)  NOT NULL CHECK (rol IN ('DONANTE', 'LIDER_SOCIAL', 'ADMINISTRADOR')),
+    activo              BOOLEAN      NOT NULL,
+    fecha_registro      TIMESTAMP(6) NOT NULL,
+    fecha_actualizacion TIMESTAMP(6),
+    CONSTRAINT uk_usuario_email UNIQUE (email)
+);
+
+CREATE TABLE donaciones (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    usuario_id         BIGINT        NOT NULL REFERENCES usuarios (id),
+    tipo               VARCHAR(20)   NOT NULL CHECK (tipo IN ('MONETARIA', 'ESPECIES', 'SERVICIOS')),
+    monto              NUMERIC(12, 2),
+    descripcion        VARCHAR(500)  NOT NULL,
+    detalle_especies   VARCHAR(1000),
+    estado             VARCHAR(20)   NOT NULL CHECK (estado IN ('PENDIENTE', 'CONFIRMADA', 'RECHAZADA')),
+    comprobante        VARCHAR(500),
+    fecha_donacion     TIMESTAMP(6)  NOT NULL,
+    fecha_confirmacion TIMESTAMP(6),
+    notas              VARCHAR(1000)
+);
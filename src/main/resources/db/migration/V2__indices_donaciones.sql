@@ -0,0 +1,28 @@
+-- ============================================
+-- Índices para los accesos frecuentes a donaciones
+-- ============================================
+
+-- Listado general y por rango de fechas (BETWEEN + paginación keyset fecha_donacion DESC, id DESC)
+-- Puede existir si la tabla la creó Hibernate con ddl-auto=update
+CREATE INDEX IF NOT EXISTS idx_donaciones_fecha_id
+    ON donaciones (fecha_donacion, id);
+
+-- existsByUsuarioIdAndEstado, contarDonacionesConfirmadasPorUsuario y findByUsuarioId
+-- (también evita recorrer la tabla al validar la FK al borrar usuarios)
+CREATE INDEX idx_donaciones_usuario_estado
+    ON donaciones (usuario_id, estado);
+
+-- findByEstado y listado paginado por estado: el orden del índice es el del keyset
+CREATE INDEX idx_donaciones_estado_fecha
+    ON donaciones (estado, fecha_donacion DESC, id DESC);
+
+-- Listado paginado por tipo
+CREATE INDEX idx_donaciones_tipo_fecha
+    ON donaciones (tipo, fecha_donacion DESC, id DESC);
+
+-- Ranking y total por donante: solo confirmadas monetarias.
+-- Parcial (no indexa pendientes, rechazadas ni especies) y cubriente (INCLUDE monto),
+-- así SUM(monto) GROUP BY usuario_id se resuelve con un index-only scan
+CREATE INDEX idx_donaciones_ranking
+    ON donaciones (usuario_id) INCLUDE (monto)
+    WHERE estado = 'CONFIRMADA' AND tipo = 'MONETARIA';
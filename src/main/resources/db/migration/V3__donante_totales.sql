@@ -0,0 +1,28 @@
+-- ============================================
+-- Totales por donante (desnormalizados)
+-- Se actualizan en la misma transacción que confirma la donación y se
+-- reconstruyen periódicamente (ReconciliacionTotalesJob)
+-- ============================================
+
+CREATE TABLE donante_totales (
+    usuario_id             BIGINT         PRIMARY KEY REFERENCES usuarios (id),
+    total_donado           NUMERIC(14, 2) NOT NULL DEFAULT 0, -- confirmadas monetarias
+    donaciones_monetarias  BIGINT         NOT NULL DEFAULT 0, -- confirmadas monetarias
+    donaciones_confirmadas BIGINT         NOT NULL DEFAULT 0, -- confirmadas de cualquier tipo
+    fecha_actualizacion    TIMESTAMP(6)   NOT NULL
+);
+
+-- Ranking: ORDER BY total_donado DESC sin ordenar en memoria
+CREATE INDEX idx_donante_totales_ranking
+    ON donante_totales (total_donado DESC, usuario_id)
+    WHERE donaciones_monetarias > 0;
+
+INSERT INTO donante_totales (usuario_id, total_donado, donaciones_monetarias, donaciones_confirmadas, fecha_actualizacion)
+SELECT usuario_id,
+       COALESCE(SUM(monto) FILTER (WHERE tipo = 'MONETARIA'), 0),
+       COUNT(*) FILTER (WHERE tipo = 'MONETARIA'),
+       COUNT(*),
+       now()
+FROM donaciones
+WHERE estado = 'CONFIRMADA'
+GROUP BY usuario_id;
@@ -0,0 +1,19 @@
+-- ============================================
+-- Ids de donaciones desde una secuencia con incremento 50 (optimizador
+-- pooled de Hibernate): los ids se asignan en memoria y los INSERT pueden
+-- ir en lotes JDBC, cosa que IDENTITY impide
+-- ============================================
+
+CREATE SEQUENCE donaciones_seq START WITH 1 INCREMENT BY 50;
+
+-- Con datos existentes el siguiente bloque empieza justo después del id máximo
+SELECT setval('donaciones_seq', MAX(id)) FROM donaciones HAVING MAX(id) IS NOT NULL;
+
+ALTER TABLE donaciones ALTER COLUMN id DROP IDENTITY;
+
+-- Inserciones por SQL (operación manual, scripts): toman id de la misma secuencia.
+-- No chocan con Hibernate: el optimizador pooled usa bloques (valor - 50, valor]
+-- y cada nextval suelto consume un valor que queda fuera de los bloques siguientes
+ALTER TABLE donaciones ALTER COLUMN id SET DEFAULT nextval('donaciones_seq');
+
+ALTER SEQUENCE donaciones_seq OWNED BY donaciones.id;
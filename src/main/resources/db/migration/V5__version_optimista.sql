@@ -0,0 +1,7 @@
+-- ============================================
+-- Control de concurrencia optimista (@Version): cada UPDATE de Hibernate
+-- incluye WHERE version = ? y las transiciones nativas la incrementan
+-- ============================================
+
+ALTER TABLE donaciones ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE usuarios ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,23 @@
+-- ============================================
+-- Una sola donación PENDIENTE por usuario, garantizada por la base de datos
+-- (antes: existsByUsuarioIdAndEstado + INSERT, con carrera entre envíos simultáneos)
+-- ============================================
+
+-- Pendientes duplicadas que hayan entrado por esa carrera: se conserva la más
+-- antigua y las demás se rechazan dejando constancia en las notas
+UPDATE donaciones d
+SET estado = 'RECHAZADA',
+    notas = 'Rechazada al migrar: el usuario ya tenía otra donación pendiente',
+    version = d.version + 1
+WHERE d.estado = 'PENDIENTE'
+AND EXISTS (
+    SELECT 1 FROM donaciones anterior
+    WHERE anterior.usuario_id = d.usuario_id
+    AND anterior.estado = 'PENDIENTE'
+    AND (anterior.fecha_donacion, anterior.id) < (d.fecha_donacion, d.id)
+);
+
+-- También sirve la búsqueda de pendientes por usuario (carga masiva)
+CREATE UNIQUE INDEX uk_donaciones_pendiente_usuario
+    ON donaciones (usuario_id)
+    WHERE estado = 'PENDIENTE';
@@ -0,0 +1,22 @@
+-- ============================================
+-- Búsqueda de usuarios por nombre y email sin recorrer la tabla
+-- (antes: lower(nombre) LIKE '%texto%', un seq scan de usuarios por cada tecla)
+-- ============================================
+
+-- pg_trgm es una extensión de confianza desde PostgreSQL 13: basta con CREATE en la base
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Búsqueda por similitud (<%, word_similarity) y LIKE '%texto%'.
+-- Sobre lower(...) porque así compara la búsqueda y así genera Hibernate el IgnoreCase
+CREATE INDEX idx_usuarios_nombre_trgm
+    ON usuarios USING gin (lower(nombre) gin_trgm_ops);
+
+CREATE INDEX idx_usuarios_email_trgm
+    ON usuarios USING gin (lower(email) gin_trgm_ops);
+
+-- Autocompletado por prefijo: LIKE 'tex%' ordenado por nombre se resuelve con un
+-- range scan que ya sale ordenado y se corta en el LIMIT. Con COLLATE "C" el
+-- planificador convierte el LIKE en un rango sea cual sea la collation de la base,
+-- y sirve también para prefijos de 1 o 2 letras, que no alcanzan a formar un trigrama
+CREATE INDEX idx_usuarios_nombre_prefijo
+    ON usuarios ((lower(nombre) COLLATE "C"), id);
@@ -0,0 +1,22 @@
+-- ============================================
+-- Nombre fijo para la FK donaciones.usuario_id: el adaptador traduce su
+-- violación ("Usuario no encontrado") por el nombre de la restricción
+-- ============================================
+
+-- V1 la creó sin nombre (donaciones_usuario_id_fkey); en bases hechas con
+-- ddl-auto antes de Flyway tiene el nombre generado por Hibernate
+DO $$
+DECLARE
+    actual TEXT;
+BEGIN
+    SELECT c.conname INTO actual
+    FROM pg_constraint c
+    JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = ANY (c.conkey)
+    WHERE c.conrelid = 'donaciones'::regclass
+    AND c.contype = 'f'
+    AND a.attname = 'usuario_id';
+
+    IF actual IS NOT NULL AND actual <> 'fk_donaciones_usuario' THEN
+        EXECUTE format('ALTER TABLE donaciones RENAME CONSTRAINT %I TO fk_donaciones_usuario', actual);
+    END IF;
+END $$;
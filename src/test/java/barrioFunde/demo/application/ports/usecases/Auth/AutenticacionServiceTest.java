@@ -0,0 +1,100 @@
+package barrioFunde.demo.application.ports.usecases.Auth;
+
+import barrioFunde.demo.application.ports.out.Auth.JwtTokenPort;
+import barrioFunde.demo.application.ports.out.PasswordEncoderPort;
+import barrioFunde.demo.application.ports.out.UsuarioRepositoryPort;
+import barrioFunde.demo.domain.model.Auth.AuthCredentials;
+import barrioFunde.demo.domain.model.Auth.AuthToken;
+import barrioFunde.demo.domain.model.Usuario;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AutenticacionServiceTest {
+
+    private static final String HASH_ANTIGUO = "$2a$10$hashConCostoAnterior";
+
+    private UsuarioRepositoryPort usuarioRepositoryPort;
+    private PasswordEncoderPort passwordEncoderPort;
+    private AutenticacionService service;
+
+    @BeforeEach
+    void setUp() {
+        usuarioRepositoryPort = mock(UsuarioRepositoryPort.class);
+        passwordEncoderPort = mock(PasswordEncoderPort.class);
+        JwtTokenPort jwtTokenPort = mock(JwtTokenPort.class);
+        service = new AutenticacionService(usuarioRepositoryPort, passwordEncoderPort, jwtTokenPort);
+
+        Usuario usuario = Usuario.builder()
+                .id(3L)
+                .email("ana@barrio.org")
+                .password(HASH_ANTIGUO)
+                .build();
+        when(usuarioRepositoryPort.buscarPorEmail("ana@barrio.org")).thenReturn(Optional.of(usuario));
+        when(passwordEncoderPort.matches("secreta", HASH_ANTIGUO)).thenReturn(true);
+        when(jwtTokenPort.generateToken(any())).thenReturn("token");
+    }
+
+    @Test
+    void rehasheaLaContrasenaSiElCostoEstaDesactualizado() {
+        when(passwordEncoderPort.requiereRehash(HASH_ANTIGUO)).thenReturn(true);
+        when(passwordEncoderPort.encode("secreta")).thenReturn("$2a$12$hashNuevo");
+        when(usuarioRepositoryPort.actualizarPassword(3L, HASH_ANTIGUO, "$2a$12$hashNuevo")).thenReturn(true);
+
+        AuthToken token = service.autenticar(credenciales());
+
+        verify(usuarioRepositoryPort).actualizarPassword(3L, HASH_ANTIGUO, "$2a$12$hashNuevo");
+        assertThat(token.getUsuario().getPassword()).isEqualTo("$2a$12$hashNuevo");
+    }
+
+    @Test
+    void noRehasheaSiLaContrasenaCambioDuranteElEncode() {
+        when(passwordEncoderPort.requiereRehash(HASH_ANTIGUO)).thenReturn(true);
+        when(passwordEncoderPort.encode("secreta")).thenReturn("$2a$12$hashNuevo");
+        // Otro cambio ya reemplazó HASH_ANTIGUO: el UPDATE condicionado no toca filas
+        when(usuarioRepositoryPort.actualizarPassword(3L, HASH_ANTIGUO, "$2a$12$hashNuevo")).thenReturn(false);
+
+        AuthToken token = service.autenticar(credenciales());
+
+        assertThat(token.getToken()).isEqualTo("token");
+        assertThat(token.getUsuario().getPassword()).isEqualTo(HASH_ANTIGUO);
+    }
+
+    @Test
+    void noRehasheaSiElCostoEstaVigente() {
+        when(passwordEncoderPort.requiereRehash(HASH_ANTIGUO)).thenReturn(false);
+
+        service.autenticar(credenciales());
+
+        verify(passwordEncoderPort, never()).encode(anyString());
+        verify(usuarioRepositoryPort, never()).actualizarPassword(any(), anyString(), anyString());
+    }
+
+    @Test
+    void unFalloAlRehashearNoImpideElLogin() {
+        when(passwordEncoderPort.requiereRehash(HASH_ANTIGUO)).thenReturn(true);
+        when(passwordEncoderPort.encode("secreta")).thenThrow(new RejectedExecutionException("Cola de hashing llena"));
+
+        AuthToken token = service.autenticar(credenciales());
+
+        assertThat(token.getToken()).isEqualTo("token");
+        verify(usuarioRepositoryPort, never()).actualizarPassword(any(), anyString(), anyString());
+    }
+
+    private static AuthCredentials credenciales() {
+        return AuthCredentials.builder()
+                .email("ana@barrio.org")
+                .password("secreta")
+                .build();
+    }
+}
@@ -0,0 +1,358 @@
+package barrioFunde.demo.application.ports.usecases;
+
+import barrioFunde.demo.application.ports.out.DonacionRepositoryPort;
+import barrioFunde.demo.application.ports.out.UsuarioRepositoryPort;
+import barrioFunde.demo.domain.model.CursorDonacion;
+import barrioFunde.demo.domain.model.Donacion;
+import barrioFunde.demo.domain.model.DonacionConDonante;
+import barrioFunde.demo.domain.model.EstadisticasDonante;
+import barrioFunde.demo.domain.model.FiltroDonacion;
+import barrioFunde.demo.domain.model.PaginaDonaciones;
+import barrioFunde.demo.domain.model.RankingRow;
+import barrioFunde.demo.domain.model.ResultadoFilaLote;
+import barrioFunde.demo.domain.model.ResultadoTransicion;
+import barrioFunde.demo.domain.model.TotalDonante;
+import barrioFunde.demo.domain.model.TransicionPendientes;
+import barrioFunde.demo.domain.model.Usuario;
+import barrioFunde.demo.domain.model.enums.EstadoDonacion;
+import barrioFunde.demo.domain.model.enums.TipoDonacion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GestionDonacionServiceTest {
+
+    private DonacionRepositoryPort repositoryPort;
+    private UsuarioRepositoryPort usuarioRepositoryPort;
+    private TablaPosicionesDonantes tablaPosiciones;
+    private GestionDonacionService service;
+
+    @BeforeEach
+    void setUp() {
+        repositoryPort = mock(DonacionRepositoryPort.class);
+        tablaPosiciones = new TablaPosicionesDonantes();
+        usuarioRepositoryPort = mock(UsuarioRepositoryPort.class);
+        service = new GestionDonacionService(repositoryPort, usuarioRepositoryPort, tablaPosiciones);
+    }
+
+    @Test
+    void listarPaginaDevuelveCursorCuandoHayMasFilas() {
+        when(repositoryPort.buscarPagina(any(), isNull(), eq(4))).thenReturn(conDonante(donaciones(4)));
+
+        PaginaDonaciones pagina = service.listarPagina(FiltroDonacion.todas(), null, 3);
+
+        assertThat(pagina.getDonaciones()).hasSize(3);
+        assertThat(pagina.hayMas()).isTrue();
+        assertThat(pagina.getSiguienteCursor().getId()).isEqualTo(3L);
+    }
+
+    @Test
+    void listarPaginaSinMasFilasNoDevuelveCursor() {
+        CursorDonacion cursor = new CursorDonacion(LocalDateTime.now(), 10L);
+        when(repositoryPort.buscarPagina(any(), eq(cursor), eq(4))).thenReturn(conDonante(donaciones(2)));
+
+        PaginaDonaciones pagina = service.listarPagina(FiltroDonacion.todas(), cursor, 3);
+
+        assertThat(pagina.getDonaciones()).hasSize(2);
+        assertThat(pagina.hayMas()).isFalse();
+    }
+
+    @Test
+    void listarPaginaAcotaElLimite() {
+        when(repositoryPort.buscarPagina(any(), any(), eq(201))).thenReturn(List.of());
+
+        service.listarPagina(null, null, 10_000);
+
+        verify(repositoryPort).buscarPagina(any(FiltroDonacion.class), isNull(), eq(201));
+    }
+
+    @Test
+    void rankingNormalizaElLimiteABloques() {
+        assertThat(GestionDonacionService.normalizarLimiteRanking(1)).isEqualTo(50);
+        assertThat(GestionDonacionService.normalizarLimiteRanking(10)).isEqualTo(50);
+        assertThat(GestionDonacionService.normalizarLimiteRanking(11)).isEqualTo(50);
+        assertThat(GestionDonacionService.normalizarLimiteRanking(51)).isEqualTo(100);
+    }
+
+    @Test
+    void rankingRecortaElBloqueAlLimitePedido() {
+        List<RankingRow> bloque = LongStream.rangeClosed(1, 50)
+                .mapToObj(id -> new RankingRow(id, "Donante " + id, id + "@test.com", BigDecimal.TEN, 1L))
+                .toList();
+        when(repositoryPort.obtenerTopDonantesPorMonto(50)).thenReturn(bloque);
+
+        assertThat(service.obtenerTopDonantes(10)).hasSize(10);
+        assertThat(service.obtenerTopDonantes(11)).hasSize(11);
+        verify(repositoryPort, times(2)).obtenerTopDonantesPorMonto(50);
+    }
+
+    @Test
+    void confirmarSumaALaTablaDePosicionesSoloDespuesDelCommit() {
+        tablaPosiciones.cargar(List.of(new TotalDonante(1L, "Ana", "ana@test.com", new BigDecimal("50.00"), 1L)));
+        Donacion confirmada = Donacion.builder()
+                .id(5L)
+                .usuarioId(1L)
+                .tipo(TipoDonacion.MONETARIA)
+                .monto(new BigDecimal("25.00"))
+                .estado(EstadoDonacion.CONFIRMADA)
+                .build();
+        when(repositoryPort.cambiarEstadoSiPendiente(eq(5L), any(), any(), isNull()))
+                .thenReturn(Optional.of(confirmada));
+
+        // Transacción simulada: el gestor de transacciones dispara las sincronizaciones
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.confirmar(5L, null);
+
+            // Antes del commit (o si la transacción se revierte) la tabla no cambia
+            assertThat(service.obtenerTopDonantes(10).get(0).totalDonado()).isEqualByComparingTo("50.00");
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertThat(service.obtenerTopDonantes(10).get(0).totalDonado()).isEqualByComparingTo("75.00");
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void confirmarSumaLaDonacionALaTablaDePosiciones() {
+        tablaPosiciones.cargar(List.of(new TotalDonante(1L, "Ana", "ana@test.com", new BigDecimal("50.00"), 1L)));
+        Donacion confirmada = Donacion.builder()
+                .id(5L)
+                .usuarioId(1L)
+                .tipo(TipoDonacion.MONETARIA)
+                .monto(new BigDecimal("25.00"))
+                .estado(EstadoDonacion.CONFIRMADA)
+                .build();
+        when(repositoryPort.cambiarEstadoSiPendiente(eq(5L), eq(EstadoDonacion.CONFIRMADA), any(), isNull()))
+                .thenReturn(Optional.of(confirmada));
+
+        service.confirmar(5L, null);
+
+        List<RankingRow> top = service.obtenerTopDonantes(10);
+        assertThat(top).hasSize(1);
+        assertThat(top.get(0).totalDonado()).isEqualByComparingTo("75.00");
+        assertThat(top.get(0).cantidadDonaciones()).isEqualTo(2L);
+        assertThat(top.get(0).promedio()).isEqualByComparingTo("37.50");
+        verify(repositoryPort, never()).obtenerTopDonantesPorMonto(anyInt());
+        verify(repositoryPort).acumularConfirmacion(confirmada);
+        // Sin lecturas previas ni guardar: el UPDATE condicional es la única escritura
+        verify(repositoryPort, never()).buscarPorId(any());
+        verify(repositoryPort, never()).guardar(any());
+    }
+
+    @Test
+    void confirmarDonacionRechazadaDevuelveElErrorDelDominio() {
+        when(repositoryPort.cambiarEstadoSiPendiente(eq(6L), any(), any(), any())).thenReturn(Optional.empty());
+        when(repositoryPort.buscarPorId(6L)).thenReturn(Optional.of(Donacion.builder()
+                .id(6L)
+                .estado(EstadoDonacion.RECHAZADA)
+                .build()));
+
+        assertThatThrownBy(() -> service.confirmar(6L, "ok"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("No se puede confirmar una donación rechazada");
+        verify(repositoryPort, never()).acumularConfirmacion(any());
+    }
+
+    @Test
+    void rechazarDonacionInexistente() {
+        when(repositoryPort.cambiarEstadoSiPendiente(eq(7L), any(), any(), any())).thenReturn(Optional.empty());
+        when(repositoryPort.buscarPorId(7L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.rechazar(7L, "duplicada"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Donación no encontrada");
+    }
+
+    @Test
+    void estadisticasSalenDeUnaSolaConsulta() {
+        when(repositoryPort.obtenerEstadisticasDonante(1L)).thenReturn(new EstadisticasDonante(
+                1L, new BigDecimal("90.00"), 3L, new BigDecimal("10.00"), new BigDecimal("50.00"),
+                new BigDecimal("30.00"), new BigDecimal("30.00"), new BigDecimal("46.00")));
+
+        Map<String, Object> estadisticas = service.obtenerEstadisticasDonante(1L);
+
+        assertThat((BigDecimal) estadisticas.get("totalDonado")).isEqualByComparingTo("90.00");
+        assertThat(estadisticas.get("cantidadDonaciones")).isEqualTo(3L);
+        assertThat((BigDecimal) estadisticas.get("promedioDonacion")).isEqualByComparingTo("30.00");
+        assertThat((BigDecimal) estadisticas.get("percentil90")).isEqualByComparingTo("46.00");
+        verify(repositoryPort, never()).calcularTotalDonadoPorUsuario(any());
+    }
+
+    @Test
+    void estadisticasSinDonacionesTienenPromedioCero() {
+        when(repositoryPort.obtenerEstadisticasDonante(2L)).thenReturn(new EstadisticasDonante(
+                2L, BigDecimal.ZERO, 0L, null, null, null, null, null));
+
+        Map<String, Object> estadisticas = service.obtenerEstadisticasDonante(2L);
+
+        assertThat((BigDecimal) estadisticas.get("promedioDonacion")).isEqualByComparingTo("0");
+        assertThat(estadisticas.get("cantidadDonaciones")).isEqualTo(0L);
+    }
+
+    @Test
+    void crearDelegaLaReglaDePendienteAlRepositorio() {
+        Donacion donacion = monetaria(1L);
+        when(repositoryPort.guardar(donacion)).thenThrow(
+                new IllegalStateException("Ya existe una donación pendiente. Por favor espere a que sea confirmada."));
+
+        assertThatThrownBy(() -> service.crear(donacion)).isInstanceOf(IllegalStateException.class);
+        assertThat(donacion.getEstado()).isEqualTo(EstadoDonacion.PENDIENTE);
+        verify(repositoryPort).guardar(donacion);
+        verify(repositoryPort, never()).buscarUsuariosConDonacionPendiente(any());
+    }
+
+    @Test
+    void crearLoteInformaCadaFilaYValidaEnConjunto() {
+        when(usuarioRepositoryPort.buscarPorIds(any())).thenReturn(List.of(
+                Usuario.builder().id(1L).build(),
+                Usuario.builder().id(2L).build(),
+                Usuario.builder().id(3L).build()));
+        when(repositoryPort.buscarUsuariosConDonacionPendiente(any())).thenReturn(Set.of(2L));
+        AtomicLong secuencia = new AtomicLong(100);
+        when(repositoryPort.guardarLote(any())).thenAnswer(invocacion -> {
+            List<Donacion> lote = invocacion.getArgument(0);
+            lote.forEach(donacion -> donacion.setId(secuencia.incrementAndGet()));
+            return lote;
+        });
+
+        List<ResultadoFilaLote> resultados = service.crearLote(List.of(
+                monetaria(1L),
+                Donacion.builder().usuarioId(1L).tipo(TipoDonacion.MONETARIA).monto(BigDecimal.TEN).build(),
+                monetaria(1L),
+                monetaria(2L),
+                monetaria(99L),
+                monetaria(3L)));
+
+        assertThat(resultados).extracting(ResultadoFilaLote::fila).containsExactly(0, 1, 2, 3, 4, 5);
+        assertThat(resultados.get(0).donacionId()).isEqualTo(101L);
+        assertThat(resultados.get(1).error()).isEqualTo("La descripción es obligatoria");
+        assertThat(resultados.get(2).error()).startsWith("Ya existe una donación pendiente");
+        assertThat(resultados.get(3).error()).startsWith("Ya existe una donación pendiente");
+        assertThat(resultados.get(4).error()).isEqualTo("Usuario no encontrado");
+        assertThat(resultados.get(5).donacionId()).isEqualTo(102L);
+
+        // Una consulta por lote, nunca por fila
+        verify(usuarioRepositoryPort).buscarPorIds(any());
+        verify(repositoryPort).buscarUsuariosConDonacionPendiente(any());
+        verify(repositoryPort, never()).guardar(any());
+    }
+
+    @Test
+    void crearLoteRechazaLotesDemasiadoGrandes() {
+        List<Donacion> lote = Collections.nCopies(GestionDonacionService.LIMITE_MAXIMO_LOTE + 1, monetaria(1L));
+
+        assertThatThrownBy(() -> service.crearLote(lote)).isInstanceOf(IllegalArgumentException.class);
+        verify(repositoryPort, never()).guardarLote(any());
+    }
+
+    @Test
+    void confirmarLoteEsUnaSentenciaYDevuelveResultadoPorId() {
+        Donacion confirmada = Donacion.builder()
+                .id(1L).usuarioId(9L).tipo(TipoDonacion.MONETARIA)
+                .monto(BigDecimal.TEN).estado(EstadoDonacion.CONFIRMADA).build();
+        when(repositoryPort.cambiarEstadoPendientes(eq(List.of(1L, 2L, 3L)), eq(EstadoDonacion.CONFIRMADA), any(), isNull()))
+                .thenReturn(List.of(confirmada));
+        when(repositoryPort.buscarPorIds(List.of(2L, 3L))).thenReturn(List.of(
+                Donacion.builder().id(2L).estado(EstadoDonacion.RECHAZADA).build()));
+
+        List<ResultadoTransicion> resultados = service.confirmarLote(List.of(1L, 2L, 1L, 3L), " ");
+
+        assertThat(resultados).extracting(ResultadoTransicion::donacionId).containsExactly(1L, 2L, 3L);
+        assertThat(resultados.get(0).estado()).isEqualTo(EstadoDonacion.CONFIRMADA);
+        assertThat(resultados.get(1).error()).isEqualTo("No se puede confirmar una donación rechazada");
+        assertThat(resultados.get(2).error()).isEqualTo("Donación no encontrada");
+        verify(repositoryPort).acumularConfirmaciones(List.of(confirmada));
+        verify(repositoryPort, never()).acumularConfirmacion(any());
+        verify(repositoryPort, never()).guardar(any());
+    }
+
+    @Test
+    void rechazarLoteNoTocaLosTotales() {
+        when(repositoryPort.cambiarEstadoPendientes(eq(List.of(4L)), eq(EstadoDonacion.RECHAZADA), isNull(), eq("duplicada")))
+                .thenReturn(List.of());
+        when(repositoryPort.buscarPorIds(List.of(4L))).thenReturn(List.of(
+                Donacion.builder().id(4L).estado(EstadoDonacion.CONFIRMADA).build()));
+
+        List<ResultadoTransicion> resultados = service.rechazarLote(List.of(4L), "duplicada");
+
+        assertThat(resultados).singleElement()
+                .satisfies(r -> assertThat(r.error()).isEqualTo("No se puede rechazar una donación confirmada"));
+        verify(repositoryPort, never()).acumularConfirmaciones(any());
+    }
+
+    @Test
+    void confirmarPendientesExigeAlgunCriterio() {
+        assertThatThrownBy(() -> service.confirmarPendientes(FiltroDonacion.todas(), null))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(repositoryPort, never()).cambiarEstadoPendientes(any(FiltroDonacion.class), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void confirmarPendientesCambiaComoMaximoUnLoteYAvisaSiQuedanMas() {
+        FiltroDonacion filtro = FiltroDonacion.builder().tipo(TipoDonacion.MONETARIA).build();
+        Donacion confirmada = Donacion.builder()
+                .id(1L).usuarioId(9L).tipo(TipoDonacion.MONETARIA)
+                .monto(BigDecimal.TEN).estado(EstadoDonacion.CONFIRMADA).build();
+        when(repositoryPort.cambiarEstadoPendientes(eq(filtro), eq(EstadoDonacion.CONFIRMADA), any(), isNull(),
+                eq(GestionDonacionService.LIMITE_MAXIMO_TRANSICION))).thenReturn(List.of(confirmada));
+        when(repositoryPort.existenPendientes(filtro)).thenReturn(true);
+
+        TransicionPendientes transicion = service.confirmarPendientes(filtro, null);
+
+        assertThat(transicion.resultados()).extracting(ResultadoTransicion::donacionId).containsExactly(1L);
+        assertThat(transicion.hayMas()).isTrue();
+        verify(repositoryPort).acumularConfirmaciones(List.of(confirmada));
+    }
+
+    private static Donacion monetaria(Long usuarioId) {
+        return Donacion.builder()
+                .usuarioId(usuarioId)
+                .tipo(TipoDonacion.MONETARIA)
+                .monto(new BigDecimal("25.00"))
+                .descripcion("Planilla de campo")
+                .build();
+    }
+
+    private static List<DonacionConDonante> conDonante(List<Donacion> donaciones) {
+        Usuario donante = Usuario.builder().id(1L).nombre("Donante").email("donante@test.com").build();
+        return donaciones.stream()
+                .map(donacion -> new DonacionConDonante(donacion, donante))
+                .toList();
+    }
+
+    private static List<Donacion> donaciones(int cantidad) {
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 12, 0);
+        return LongStream.rangeClosed(1, cantidad)
+                .mapToObj(id -> Donacion.builder()
+                        .id(id)
+                        .usuarioId(1L)
+                        .fechaDonacion(base.minusMinutes(id))
+                        .build())
+                .toList();
+    }
+}
@@ -0,0 +1,82 @@
+package barrioFunde.demo.application.ports.usecases;
+
+import barrioFunde.demo.application.ports.out.Auth.RevocacionTokenPort;
+import barrioFunde.demo.application.ports.out.PasswordEncoderPort;
+import barrioFunde.demo.application.ports.out.UsuarioRepositoryPort;
+import barrioFunde.demo.domain.model.PaginaUsuarios;
+import barrioFunde.demo.domain.model.Usuario;
+import barrioFunde.demo.domain.model.enums.ModoBusquedaUsuario;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GestionUsuarioServiceTest {
+
+    private UsuarioRepositoryPort repositoryPort;
+    private GestionUsuarioService service;
+
+    @BeforeEach
+    void setUp() {
+        repositoryPort = mock(UsuarioRepositoryPort.class);
+        service = new GestionUsuarioService(
+                repositoryPort, mock(PasswordEncoderPort.class), mock(RevocacionTokenPort.class));
+    }
+
+    @Test
+    void buscarNormalizaElTerminoYDetectaPaginaSiguiente() {
+        when(repositoryPort.buscarPorSimilitud("maría", 10, 11)).thenReturn(usuarios(11));
+
+        PaginaUsuarios pagina = service.buscar("  María ", ModoBusquedaUsuario.SIMILITUD, 1, 10);
+
+        assertThat(pagina.getUsuarios()).hasSize(10);
+        assertThat(pagina.isHayMas()).isTrue();
+        assertThat(pagina.getPagina()).isEqualTo(1);
+    }
+
+    @Test
+    void buscarLimitaElTamanoDePagina() {
+        int maximo = GestionUsuarioService.LIMITE_MAXIMO_BUSQUEDA;
+        when(repositoryPort.buscarPorPrefijoNombre("ana", 0, maximo + 1)).thenReturn(usuarios(3));
+
+        PaginaUsuarios pagina = service.buscar("ana", ModoBusquedaUsuario.PREFIJO, 0, 10_000);
+
+        assertThat(pagina.getTamano()).isEqualTo(maximo);
+        assertThat(pagina.isHayMas()).isFalse();
+    }
+
+    @Test
+    void terminoSinTrigramasSeAutocompletaPorPrefijo() {
+        when(repositoryPort.buscarPorPrefijoNombre("an", 0, 21)).thenReturn(usuarios(2));
+
+        service.buscar("an", ModoBusquedaUsuario.SIMILITUD, 0, 20);
+
+        verify(repositoryPort, never()).buscarPorSimilitud(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void buscarRechazaTerminoVacioYPaginasMuyProfundas() {
+        assertThatThrownBy(() -> service.buscar(" ", ModoBusquedaUsuario.SIMILITUD, 0, 20))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.buscar("ana", ModoBusquedaUsuario.SIMILITUD, 50, 20))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(repositoryPort, never()).buscarPorSimilitud(anyString(), anyInt(), eq(21));
+    }
+
+    private static List<Usuario> usuarios(int cantidad) {
+        return LongStream.rangeClosed(1, cantidad)
+                .mapToObj(id -> Usuario.builder().id(id).nombre("Usuario " + id).build())
+                .toList();
+    }
+}
@@ -0,0 +1,114 @@
+package barrioFunde.demo.application.ports.usecases;
+
+import barrioFunde.demo.domain.model.TotalDonante;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TablaPosicionesDonantesTest {
+
+    @Test
+    void topOrdenaPorTotalDescendente() {
+        TablaPosicionesDonantes tabla = new TablaPosicionesDonantes();
+        tabla.cargar(List.of(
+                total(1L, "100.00", 2),
+                total(2L, "300.00", 1),
+                total(3L, "200.00", 4)
+        ));
+
+        assertThat(tabla.top(2))
+                .extracting(TotalDonante::getUsuarioId)
+                .containsExactly(2L, 3L);
+    }
+
+    @Test
+    void sumarDonacionReordenaYAcumula() {
+        TablaPosicionesDonantes tabla = new TablaPosicionesDonantes();
+        tabla.cargar(List.of(total(1L, "100.00", 1), total(2L, "150.00", 1)));
+
+        tabla.sumarDonacion(1L, null, null, new BigDecimal("75.00"));
+        tabla.sumarDonacion(9L, "Nueva", "nueva@test.com", new BigDecimal("10.00"));
+
+        List<TotalDonante> top = tabla.top(3);
+        assertThat(top)
+                .extracting(TotalDonante::getUsuarioId)
+                .containsExactly(1L, 2L, 9L);
+        TotalDonante uno = top.get(0);
+        assertThat(uno.getTotalDonado()).isEqualByComparingTo("175.00");
+        assertThat(uno.getCantidadDonaciones()).isEqualTo(2L);
+        assertThat(uno.getNombre()).isEqualTo("Donante 1");
+        assertThat(top.get(2).getEmail()).isEqualTo("nueva@test.com");
+    }
+
+    @Test
+    void sumasConcurrentesNoPierdenActualizaciones() throws InterruptedException {
+        TablaPosicionesDonantes tabla = new TablaPosicionesDonantes();
+        tabla.cargar(List.of());
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1_000; i++) {
+            long usuarioId = i % 10;
+            executor.submit(() -> tabla.sumarDonacion(usuarioId, "n", "e", BigDecimal.ONE));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(tabla.top(100)).hasSize(10)
+                .allSatisfy(t -> assertThat(t.getCantidadDonaciones()).isEqualTo(100L));
+    }
+
+    @Test
+    void confirmacionDuranteUnaRecargaSeAplicaSobreLaLecturaNueva() throws Exception {
+        TablaPosicionesDonantes tabla = new TablaPosicionesDonantes();
+        CountDownLatch leyendo = new CountDownLatch(1);
+        CountDownLatch continuar = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<Integer> recarga = executor.submit(() -> tabla.recargar(() -> {
+            leyendo.countDown();
+            esperar(continuar);
+            return List.of(total(1L, "100.00", 1));
+        }));
+        assertThat(leyendo.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // La confirmación espera a que termine la recarga en lugar de ser pisada por ella
+        Future<?> confirmacion = executor.submit(() -> {
+            tabla.iniciarConfirmacion();
+            try {
+                tabla.sumarDonacion(1L, null, null, new BigDecimal("50.00"));
+            } finally {
+                tabla.terminarConfirmacion();
+            }
+        });
+        Thread.sleep(100);
+        assertThat(confirmacion).isNotDone();
+
+        continuar.countDown();
+        assertThat(recarga.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        confirmacion.get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        assertThat(tabla.top(1).getFirst().getTotalDonado()).isEqualByComparingTo("150.00");
+    }
+
+    private static void esperar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static TotalDonante total(Long usuarioId, String monto, long cantidad) {
+        return new TotalDonante(usuarioId, "Donante " + usuarioId, "d" + usuarioId + "@test.com",
+                new BigDecimal(monto), cantidad);
+    }
+}
@@ -0,0 +1,109 @@
+package barrioFunde.demo.benchmark;
+
+import barrioFunde.demo.TestcontainersConfiguration;
+import barrioFunde.demo.infrastructure.adapters.out.persistence.UsuarioPersistenceAdapter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Búsqueda de usuarios sobre 1M de filas: LIKE '%texto%' con seq scan (como antes de V7)
+ * frente a la búsqueda por trigramas y el autocompletado por prefijo
+ *
+ *   mvn test -Dtest=BusquedaUsuariosBenchmarkTest -Dbusqueda.benchmark=true
+ *            [-Dbusqueda.usuarios=1000000] [-Dbusqueda.repeticiones=50]
+ *
+ * El "antes" se mide sobre la misma tabla desactivando los índices en la sesión,
+ * que es el plan que tenía findByNombreContainingIgnoreCase sin los índices GIN
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestcontainersConfiguration.class, UsuarioPersistenceAdapter.class})
+@Testcontainers(disabledWithoutDocker = true)
+@EnabledIfSystemProperty(named = "busqueda.benchmark", matches = "true")
+class BusquedaUsuariosBenchmarkTest {
+
+    // "quintero" no existe: sin índice obliga a leer la tabla entera
+    private static final List<String> TERMINOS = List.of("mariana", "gonzalez", "rodrigo", "valen", "quintero");
+    private static final int LIMITE = 21;
+
+    @Autowired
+    private UsuarioPersistenceAdapter adapter;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void medirBusqueda() {
+        int usuarios = Integer.getInteger("busqueda.usuarios", 1_000_000);
+        int repeticiones = Integer.getInteger("busqueda.repeticiones", 50);
+        sembrar(usuarios);
+
+        medir("trigramas (similitud)", repeticiones,
+                termino -> () -> adapter.buscarPorSimilitud(termino, 0, LIMITE));
+        medir("prefijo (autocompletar)", repeticiones,
+                termino -> () -> adapter.buscarPorPrefijoNombre(termino.substring(0, 3), 0, LIMITE));
+
+        ejecutar("SET LOCAL enable_indexscan = off");
+        ejecutar("SET LOCAL enable_bitmapscan = off");
+        medir("LIKE con seq scan (antes)", repeticiones,
+                termino -> () -> entityManager.createNativeQuery(
+                                "SELECT * FROM usuarios WHERE lower(nombre) LIKE :patron LIMIT " + LIMITE)
+                        .setParameter("patron", "%" + termino + "%")
+                        .getResultList());
+    }
+
+    // Nombres y apellidos combinados al azar, con emails derivados, como en un padrón real
+    private void sembrar(int cantidad) {
+        ejecutar("""
+            INSERT INTO usuarios (nombre, email, password, rol, activo, fecha_registro)
+            SELECT n.nombre || ' ' || a.apellido || ' ' || a2.apellido,
+                   lower(n.nombre) || '.' || lower(a.apellido) || g || '@correo.test',
+                   'secreto123', 'DONANTE', true, now()
+            FROM generate_series(1, %d) g
+            CROSS JOIN LATERAL (SELECT (ARRAY['Mariana','Juan','Sofía','Rodrigo','Valentina','Carlos',
+                    'Lucía','Andrés','Camila','Diego','Paula','Mateo'])[1 + (g * 7 + length(g::text)) %% 12] AS nombre) n
+            CROSS JOIN LATERAL (SELECT (ARRAY['González','Rodríguez','Gómez','Pérez','Martínez',
+                    'López','Díaz','Torres','Ramírez','Rojas'])[1 + (g / 12) %% 10] AS apellido) a
+            CROSS JOIN LATERAL (SELECT (ARRAY['Castro','Vargas','Moreno','Herrera','Jiménez',
+                    'Ortiz','Silva','Suárez','Mejía','Reyes','Cruz'])[1 + (g / 120) %% 11] AS apellido) a2
+            """.formatted(cantidad));
+        ejecutar("ANALYZE usuarios");
+    }
+
+    private void medir(String nombre, int repeticiones, Function<String, Supplier<?>> consulta) {
+        List<Long> latencias = new ArrayList<>();
+        for (int i = 0; i < repeticiones; i++) {
+            for (String termino : TERMINOS) {
+                Supplier<?> ejecucion = consulta.apply(termino);
+                long t0 = System.nanoTime();
+                ejecucion.get();
+                latencias.add(System.nanoTime() - t0);
+                entityManager.clear();
+            }
+        }
+        Collections.sort(latencias);
+        System.out.printf("%n%-28s p50=%6.2f ms  p99=%7.2f ms  max=%7.2f ms%n", nombre,
+                percentil(latencias, 0.50) / 1e6, percentil(latencias, 0.99) / 1e6, percentil(latencias, 1.0) / 1e6);
+    }
+
+    private static long percentil(List<Long> ordenadas, double p) {
+        int indice = (int) Math.ceil(p * ordenadas.size()) - 1;
+        return ordenadas.get(Math.max(indice, 0));
+    }
+
+    private void ejecutar(String sql) {
+        entityManager.createNativeQuery(sql).executeUpdate();
+    }
+}
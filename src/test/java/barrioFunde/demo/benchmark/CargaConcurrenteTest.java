@@ -0,0 +1,96 @@
+package barrioFunde.demo.benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Prueba de carga: peticiones concurrentes contra una instancia en ejecución
+ * Para comparar los modos, arrancar la aplicación dos veces
+ * (spring.threads.virtual.enabled=false y =true) y ejecutar contra cada una:
+ *
+ *   mvn test -Dtest=CargaConcurrenteTest -Dcarga.url=http://localhost:8080/api/donaciones/ranking/top
+ *            [-Dcarga.concurrencia=1000] [-Dcarga.peticiones=20000] [-Dcarga.token=...]
+ *
+ * Con hilos de plataforma la concurrencia útil se corta en server.tomcat.threads.max (200);
+ * con hilos virtuales el límite pasa a ser el pool de conexiones y el hashing
+ */
+@EnabledIfSystemProperty(named = "carga.url", matches = ".+")
+class CargaConcurrenteTest {
+
+    @Test
+    void medirCapacidad() throws Exception {
+        URI url = URI.create(System.getProperty("carga.url"));
+        int concurrencia = Integer.getInteger("carga.concurrencia", 1000);
+        int peticiones = Integer.getInteger("carga.peticiones", 20_000);
+        String token = System.getProperty("carga.token");
+
+        HttpClient cliente = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        HttpRequest.Builder plantilla = HttpRequest.newBuilder(url).timeout(Duration.ofSeconds(30)).GET();
+        if (token != null) {
+            plantilla.header("Authorization", "Bearer " + token);
+        }
+        HttpRequest peticion = plantilla.build();
+
+        AtomicInteger restantes = new AtomicInteger(peticiones);
+        AtomicInteger errores = new AtomicInteger();
+        List<Long> latencias = Collections.synchronizedList(new ArrayList<>(peticiones));
+
+        long inicio = System.nanoTime();
+        try (ExecutorService clientes = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futuros = new ArrayList<>();
+            for (int i = 0; i < concurrencia; i++) {
+                futuros.add(clientes.submit(() -> {
+                    while (restantes.getAndDecrement() > 0) {
+                        long t0 = System.nanoTime();
+                        try {
+                            HttpResponse<Void> respuesta = cliente.send(peticion, HttpResponse.BodyHandlers.discarding());
+                            if (respuesta.statusCode() >= 400) {
+                                errores.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errores.incrementAndGet();
+                        }
+                        latencias.add(System.nanoTime() - t0);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> futuro : futuros) {
+                futuro.get();
+            }
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        List<Long> ordenadas = new ArrayList<>(latencias);
+        Collections.sort(ordenadas);
+        System.out.printf("%nCarga contra %s%n", url);
+        System.out.printf("  concurrencia=%d peticiones=%d errores=%d%n", concurrencia, ordenadas.size(), errores.get());
+        System.out.printf("  throughput=%.0f req/s  p50=%d ms  p99=%d ms  max=%d ms%n",
+                ordenadas.size() / segundos,
+                percentil(ordenadas, 0.50), percentil(ordenadas, 0.99), percentil(ordenadas, 1.0));
+    }
+
+    private static long percentil(List<Long> ordenadas, double p) {
+        if (ordenadas.isEmpty()) {
+            return 0;
+        }
+        int indice = (int) Math.ceil(p * ordenadas.size()) - 1;
+        return Duration.ofNanos(ordenadas.get(Math.max(indice, 0))).toMillis();
+    }
+}
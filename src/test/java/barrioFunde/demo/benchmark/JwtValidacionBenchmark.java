@@ -0,0 +1,86 @@
+package barrioFunde.demo.benchmark;
+
+import barrioFunde.demo.domain.model.Usuario;
+import barrioFunde.demo.domain.model.enums.RolUsuario;
+import barrioFunde.demo.infrastructure.adapters.out.security.Auth.JwtTokenAdapter;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokens validados por segundo: parser reconstruido en cada llamada (antes)
+ * frente a la clave y el parser precalculados de JwtTokenAdapter (después)
+ *
+ * Ejecutar: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=barrioFunde.demo.benchmark.JwtValidacionBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class JwtValidacionBenchmark {
+
+    private static final String SECRETO = "miClaveSecretaSuperSeguraParaJWT2024DebeSerLargaYComplejaMasDe256Bits";
+
+    private JwtTokenAdapter adapter;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        adapter = new JwtTokenAdapter(SECRETO, 86_400_000L);
+        token = adapter.generateToken(Usuario.builder()
+                .id(1L)
+                .nombre("Ana")
+                .email("ana@barrio.org")
+                .rol(RolUsuario.DONANTE)
+                .build());
+    }
+
+    /**
+     * Flujo anterior del filtro: validateToken + extractEmail,
+     * derivando la clave y construyendo el parser en cada llamada
+     */
+    @Benchmark
+    public String antesParserPorLlamada() {
+        parsearConParserNuevo();
+        return parsearConParserNuevo().getSubject();
+    }
+
+    @Benchmark
+    public Object despuesParserCompartido() {
+        return adapter.leerToken(token).orElseThrow();
+    }
+
+    private Claims parsearConParserNuevo() {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRETO.getBytes()))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtValidacionBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
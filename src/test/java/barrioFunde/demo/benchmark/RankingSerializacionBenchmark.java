@@ -0,0 +1,120 @@
+package barrioFunde.demo.benchmark;
+
+import barrioFunde.demo.domain.model.RankingRow;
+import barrioFunde.demo.infrastructure.adapters.in.web.dto.RankingDonanteDTO;
+import barrioFunde.demo.infrastructure.adapters.in.web.mapper.DonacionDTOMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización del ranking a JSON: filas como Map<String, Object> con
+ * casts en el mapper (antes) frente a la proyección RankingRow (después)
+ *
+ * Ejecutar: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=barrioFunde.demo.benchmark.RankingSerializacionBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RankingSerializacionBenchmark {
+
+    @Param("10000")
+    private int filas;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    private List<Map<String, Object>> filasMapa;
+    private List<RankingRow> filasRecord;
+
+    @Setup
+    public void setUp() {
+        filasMapa = new ArrayList<>(filas);
+        filasRecord = new ArrayList<>(filas);
+        for (long id = 1; id <= filas; id++) {
+            BigDecimal total = BigDecimal.valueOf(1_000_000 - id * 7, 2);
+            long cantidad = 1 + id % 25;
+
+            // Mismo formato que devolvía la consulta con alias (TupleBackedMap)
+            Map<String, Object> fila = new HashMap<>();
+            fila.put("usuarioId", id);
+            fila.put("nombre", "Donante " + id);
+            fila.put("email", "donante" + id + "@barrio.org");
+            fila.put("totalDonado", total);
+            fila.put("cantidadDonaciones", cantidad);
+            filasMapa.add(fila);
+
+            filasRecord.add(new RankingRow(id, "Donante " + id, "donante" + id + "@barrio.org", total, cantidad));
+        }
+    }
+
+    @Benchmark
+    public byte[] antesMapa() {
+        List<RankingDonanteDTO> dtos = new ArrayList<>(filasMapa.size());
+        for (int i = 0; i < filasMapa.size(); i++) {
+            dtos.add(desdeMapa(filasMapa.get(i), i + 1));
+        }
+        return jsonMapper.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public byte[] despuesRecord() {
+        List<RankingDonanteDTO> dtos = new ArrayList<>(filasRecord.size());
+        for (int i = 0; i < filasRecord.size(); i++) {
+            dtos.add(DonacionDTOMapper.toRankingDTO(filasRecord.get(i), i + 1));
+        }
+        return jsonMapper.writeValueAsBytes(dtos);
+    }
+
+    /**
+     * Conversión anterior de DonacionDTOMapper.toRankingDTO(Map, int)
+     */
+    private static RankingDonanteDTO desdeMapa(Map<String, Object> data, int posicion) {
+        BigDecimal totalDonado = (BigDecimal) data.get("totalDonado");
+        Long cantidadDonaciones = ((Number) data.get("cantidadDonaciones")).longValue();
+
+        BigDecimal promedio = BigDecimal.ZERO;
+        if (cantidadDonaciones > 0) {
+            promedio = totalDonado.divide(new BigDecimal(cantidadDonaciones), 2, RoundingMode.HALF_UP);
+        }
+
+        return RankingDonanteDTO.builder()
+                .posicion(posicion)
+                .usuarioId(((Number) data.get("usuarioId")).longValue())
+                .nombre((String) data.get("nombre"))
+                .email((String) data.get("email"))
+                .totalDonado(totalDonado)
+                .cantidadDonaciones(cantidadDonaciones)
+                .promedioDonacion(promedio)
+                .build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RankingSerializacionBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
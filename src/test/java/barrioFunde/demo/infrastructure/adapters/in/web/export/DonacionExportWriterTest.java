@@ -0,0 +1,56 @@
+package barrioFunde.demo.infrastructure.adapters.in.web.export;
+
+import barrioFunde.demo.domain.model.enums.EstadoDonacion;
+import barrioFunde.demo.domain.model.enums.TipoDonacion;
+import barrioFunde.demo.infrastructure.adapters.in.web.dto.DonacionResponseDTO;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DonacionExportWriterTest {
+
+    private final DonacionResponseDTO dto = DonacionResponseDTO.builder()
+            .id(7L)
+            .usuarioId(3L)
+            .nombreUsuario("Pérez, Ana")
+            .emailUsuario("ana@test.com")
+            .tipo(TipoDonacion.MONETARIA)
+            .monto(new BigDecimal("25.50"))
+            .descripcion("Dijo \"gracias\"")
+            .estado(EstadoDonacion.CONFIRMADA)
+            .fechaDonacion(LocalDateTime.of(2025, 5, 1, 9, 30))
+            .build();
+
+    @Test
+    void csvEscribeEncabezadoYEscapaCampos() {
+        StringWriter salida = new StringWriter();
+        DonacionExportWriter writer = new DonacionExportWriter(salida, FormatoExportacion.CSV, JsonMapper.builder().build());
+
+        writer.escribirEncabezado();
+        writer.escribir(dto);
+
+        String[] lineas = salida.toString().split("\n");
+        assertThat(lineas).hasSize(2);
+        assertThat(lineas[0]).startsWith("id,usuarioId,nombreUsuario");
+        assertThat(lineas[1]).startsWith("7,3,\"Pérez, Ana\",ana@test.com,MONETARIA,25.50,\"Dijo \"\"gracias\"\"\"");
+    }
+
+    @Test
+    void ndjsonEscribeUnObjetoPorLinea() {
+        StringWriter salida = new StringWriter();
+        DonacionExportWriter writer = new DonacionExportWriter(salida, FormatoExportacion.NDJSON, JsonMapper.builder().build());
+
+        writer.escribirEncabezado();
+        writer.escribir(dto);
+        writer.escribir(dto);
+
+        String[] lineas = salida.toString().split("\n");
+        assertThat(lineas).hasSize(2);
+        assertThat(lineas[0]).startsWith("{").endsWith("}").contains("\"id\":7");
+    }
+}
@@ -0,0 +1,34 @@
+package barrioFunde.demo.infrastructure.adapters.in.web.mapper;
+
+import barrioFunde.demo.domain.model.CursorDonacion;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DonacionDTOMapperTest {
+
+    @Test
+    void cursorTokenIdaYVuelta() {
+        CursorDonacion cursor = new CursorDonacion(LocalDateTime.of(2025, 3, 4, 10, 15, 30, 123456000), 42L);
+
+        String token = DonacionDTOMapper.toCursorToken(cursor);
+
+        assertThat(token).doesNotContain("|");
+        assertThat(DonacionDTOMapper.fromCursorToken(token)).isEqualTo(cursor);
+    }
+
+    @Test
+    void cursorTokenVacioEsPrimeraPagina() {
+        assertThat(DonacionDTOMapper.fromCursorToken(null)).isNull();
+        assertThat(DonacionDTOMapper.fromCursorToken(" ")).isNull();
+    }
+
+    @Test
+    void cursorTokenInvalidoLanzaIllegalArgument() {
+        assertThatThrownBy(() -> DonacionDTOMapper.fromCursorToken("no-es-un-cursor"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,147 @@
+package barrioFunde.demo.infrastructure.adapters.out.persistence;
+
+import barrioFunde.demo.TestcontainersConfiguration;
+import barrioFunde.demo.application.ports.usecases.GestionDonacionService;
+import barrioFunde.demo.application.ports.usecases.TablaPosicionesDonantes;
+import barrioFunde.demo.domain.model.Donacion;
+import barrioFunde.demo.domain.model.Usuario;
+import barrioFunde.demo.domain.model.enums.EstadoDonacion;
+import barrioFunde.demo.domain.model.enums.RolUsuario;
+import barrioFunde.demo.domain.model.enums.TipoDonacion;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Varios administradores confirmando la misma cola a la vez: cada donación
+ * se confirma exactamente una vez y el total del donante se suma una sola vez
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestcontainersConfiguration.class, DonacionPersistenceAdapter.class, UsuarioPersistenceAdapter.class})
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ConfirmacionConcurrenteTest {
+
+    private static final int DONACIONES = 50;
+    private static final int HILOS = 8;
+
+    @Autowired
+    private DonacionPersistenceAdapter donacionAdapter;
+
+    @Autowired
+    private UsuarioPersistenceAdapter usuarioAdapter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void cadaDonacionSeConfirmaUnaSolaVez() throws Exception {
+        GestionDonacionService service = new GestionDonacionService(
+                donacionAdapter, usuarioAdapter, new TablaPosicionesDonantes());
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+
+        List<Donacion> pendientes = new ArrayList<>();
+        for (int i = 0; i < DONACIONES; i++) {
+            pendientes.add(donacionAdapter.guardar(pendiente(usuario("cola" + i).getId())));
+        }
+
+        Map<Long, AtomicInteger> exitos = new ConcurrentHashMap<>();
+        AtomicInteger conflictos = new AtomicInteger();
+        CountDownLatch salida = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(HILOS);
+        List<Future<?>> tareas = new ArrayList<>();
+
+        for (int hilo = 0; hilo < HILOS; hilo++) {
+            List<Donacion> orden = new ArrayList<>(pendientes);
+            Collections.shuffle(orden);
+            tareas.add(executor.submit(() -> {
+                salida.await();
+                for (Donacion donacion : orden) {
+                    try {
+                        transaccion.executeWithoutResult(estado -> service.confirmar(donacion.getId(), null));
+                        exitos.computeIfAbsent(donacion.getId(), id -> new AtomicInteger()).incrementAndGet();
+                    } catch (IllegalStateException e) {
+                        conflictos.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        salida.countDown();
+        for (Future<?> tarea : tareas) {
+            tarea.get();
+        }
+        executor.shutdown();
+
+        assertThat(exitos).hasSize(DONACIONES);
+        assertThat(exitos.values()).allSatisfy(contador -> assertThat(contador.get()).isEqualTo(1));
+        assertThat(conflictos.get()).isEqualTo(DONACIONES * (HILOS - 1));
+        for (Donacion donacion : pendientes) {
+            assertThat(donacionAdapter.buscarPorId(donacion.getId()).orElseThrow().getEstado())
+                    .isEqualTo(EstadoDonacion.CONFIRMADA);
+            assertThat(donacionAdapter.calcularTotalDonadoPorUsuario(donacion.getUsuarioId()))
+                    .isEqualByComparingTo("15.00");
+        }
+    }
+
+    @Test
+    void edicionSobreVersionViejaFalla() {
+        Usuario usuario = usuario("version");
+        Usuario copiaA = usuarioAdapter.buscarPorId(usuario.getId()).orElseThrow();
+        Usuario copiaB = usuarioAdapter.buscarPorId(usuario.getId()).orElseThrow();
+
+        copiaA.setNombre("Primera edición");
+        usuarioAdapter.guardar(copiaA);
+
+        copiaB.setNombre("Edición sobre versión vieja");
+        assertThatThrownBy(() -> usuarioAdapter.guardar(copiaB))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+    }
+
+    private Usuario usuario(String prefijo) {
+        return usuarioAdapter.guardar(Usuario.builder()
+                .nombre("Donante")
+                .email(prefijo + System.nanoTime() + "@test.com")
+                .password("secreto123")
+                .rol(RolUsuario.DONANTE)
+                .activo(true)
+                .build());
+    }
+
+    private static Donacion pendiente(Long usuarioId) {
+        return Donacion.builder()
+                .usuarioId(usuarioId)
+                .tipo(TipoDonacion.MONETARIA)
+                .monto(new BigDecimal("15.00"))
+                .descripcion("Cola de confirmación")
+                .estado(EstadoDonacion.PENDIENTE)
+                .fechaDonacion(LocalDateTime.now())
+                .build();
+    }
+}
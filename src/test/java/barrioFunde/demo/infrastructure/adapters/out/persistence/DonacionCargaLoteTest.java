@@ -0,0 +1,119 @@
+package barrioFunde.demo.infrastructure.adapters.out.persistence;
+
+import barrioFunde.demo.TestcontainersConfiguration;
+import barrioFunde.demo.domain.model.Donacion;
+import barrioFunde.demo.domain.model.enums.EstadoDonacion;
+import barrioFunde.demo.domain.model.enums.RolUsuario;
+import barrioFunde.demo.domain.model.enums.TipoDonacion;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * La carga masiva asigna ids desde la secuencia y envía los INSERT en lotes JDBC:
+ * el número de sentencias preparadas no crece con cada fila
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestcontainersConfiguration.class, DonacionPersistenceAdapter.class})
+@Testcontainers(disabledWithoutDocker = true)
+class DonacionCargaLoteTest {
+
+    private static final int FILAS = 10_000;
+
+    @Autowired
+    private DonacionPersistenceAdapter adapter;
+
+    @Autowired
+    private UsuarioJpaRepository usuarioJpaRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void cargaDeDiezMilFilasVaEnLotes() {
+        UsuarioEntity usuario = usuarioJpaRepository.saveAndFlush(UsuarioEntity.builder()
+                .nombre("Planilla")
+                .email("lote" + System.nanoTime() + "@test.com")
+                .password("secreto123")
+                .rol(RolUsuario.LIDER_SOCIAL)
+                .activo(true)
+                .build());
+        List<Donacion> lote = IntStream.range(0, FILAS)
+                .mapToObj(i -> Donacion.builder()
+                        .usuarioId(usuario.getId())
+                        .tipo(TipoDonacion.MONETARIA)
+                        .monto(new BigDecimal("10.00"))
+                        .descripcion("Fila " + i)
+                        .estado(EstadoDonacion.CONFIRMADA)
+                        .fechaDonacion(LocalDateTime.now())
+                        .build())
+                .toList();
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        long inicio = System.nanoTime();
+        List<Donacion> guardadas = adapter.guardarLote(lote);
+        long milisegundos = (System.nanoTime() - inicio) / 1_000_000;
+        System.out.printf("Carga de %d donaciones: %d ms, %d sentencias preparadas%n",
+                FILAS, milisegundos, statistics.getPrepareStatementCount());
+
+        assertThat(guardadas).extracting(Donacion::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(FILAS);
+        // 200 lotes de INSERT + 200 llamadas a la secuencia, lejos de una sentencia por fila
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(FILAS / 10);
+        assertThat(adapter.buscarPorUsuarioId(usuario.getId())).hasSize(FILAS);
+    }
+
+    @Test
+    void pendientesSeConsultanParaTodoElConjunto() {
+        UsuarioEntity conPendiente = usuario("pendiente");
+        UsuarioEntity sinPendiente = usuario("confirmada");
+        adapter.guardarLote(List.of(
+                donacion(conPendiente, EstadoDonacion.PENDIENTE),
+                donacion(sinPendiente, EstadoDonacion.CONFIRMADA)));
+
+        assertThat(adapter.buscarUsuariosConDonacionPendiente(List.of(conPendiente.getId(), sinPendiente.getId())))
+                .containsExactly(conPendiente.getId());
+    }
+
+    private UsuarioEntity usuario(String prefijo) {
+        return usuarioJpaRepository.saveAndFlush(UsuarioEntity.builder()
+                .nombre(prefijo)
+                .email(prefijo + System.nanoTime() + "@test.com")
+                .password("secreto123")
+                .rol(RolUsuario.DONANTE)
+                .activo(true)
+                .build());
+    }
+
+    private static Donacion donacion(UsuarioEntity usuario, EstadoDonacion estado) {
+        return Donacion.builder()
+                .usuarioId(usuario.getId())
+                .tipo(TipoDonacion.MONETARIA)
+                .monto(new BigDecimal("10.00"))
+                .descripcion("Planilla")
+                .estado(estado)
+                .fechaDonacion(LocalDateTime.now())
+                .build();
+    }
+}
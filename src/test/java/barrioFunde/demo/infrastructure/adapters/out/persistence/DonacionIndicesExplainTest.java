@@ -0,0 +1,104 @@
+package barrioFunde.demo.infrastructure.adapters.out.persistence;
+
+import barrioFunde.demo.TestcontainersConfiguration;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica con EXPLAIN que las consultas frecuentes de donaciones usan
+ * los índices creados por las migraciones de Flyway (V2__indices_donaciones).
+ * enable_seqscan=off evita que el planificador prefiera un seq scan
+ * solo porque la tabla de prueba es pequeña.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+class DonacionIndicesExplainTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private long usuarioId;
+
+    @BeforeEach
+    void sembrar() {
+        ejecutar("""
+            INSERT INTO usuarios (nombre, email, password, rol, activo, fecha_registro)
+            SELECT 'Donante ' || g, 'explain' || g || '@test.com', 'secreto123', 'DONANTE', true, now()
+            FROM generate_series(1, 200) g
+            """);
+        ejecutar("""
+            INSERT INTO donaciones (usuario_id, tipo, monto, descripcion, estado, fecha_donacion)
+            SELECT u.id,
+                   (ARRAY['MONETARIA', 'ESPECIES', 'SERVICIOS'])[1 + g % 3],
+                   10 + g,
+                   'Donación de prueba',
+                   CASE WHEN g = 1 THEN 'PENDIENTE'
+                        ELSE (ARRAY['CONFIRMADA', 'RECHAZADA'])[1 + (g / 3) % 2] END,
+                   now() - g * interval '1 hour'
+            FROM usuarios u CROSS JOIN generate_series(1, 100) g
+            WHERE u.email LIKE 'explain%'
+            """);
+        ejecutar("ANALYZE donaciones");
+        ejecutar("SET LOCAL enable_seqscan = off");
+
+        usuarioId = ((Number) entityManager
+                .createNativeQuery("SELECT MIN(id) FROM usuarios WHERE email LIKE 'explain%'")
+                .getSingleResult()).longValue();
+    }
+
+    @Test
+    void pendientesPorUsuarioUsanIndice() {
+        // Validación de la carga masiva; el índice único parcial de pendientes también la cubre
+        assertThat(plan("SELECT DISTINCT usuario_id FROM donaciones WHERE usuario_id IN ("
+                + usuarioId + ", " + (usuarioId + 1) + ") AND estado = 'PENDIENTE'"))
+                .containsAnyOf("uk_donaciones_pendiente_usuario", "idx_donaciones_usuario_estado");
+    }
+
+    @Test
+    void listadoPorEstadoUsaIndiceEstadoFecha() {
+        assertThat(plan("SELECT * FROM donaciones WHERE estado = 'PENDIENTE'"
+                + " ORDER BY fecha_donacion DESC, id DESC LIMIT 50"))
+                .contains("idx_donaciones_estado_fecha")
+                .doesNotContain("Sort");
+    }
+
+    @Test
+    void rangoDeFechasUsaIndiceFecha() {
+        assertThat(plan("SELECT * FROM donaciones"
+                + " WHERE fecha_donacion BETWEEN now() - interval '10 days' AND now() - interval '5 days'"))
+                .contains("idx_donaciones_fecha_id");
+    }
+
+    @Test
+    void rankingYTotalPorDonanteUsanIndiceParcial() {
+        assertThat(plan("SELECT usuario_id, SUM(monto) FROM donaciones"
+                + " WHERE estado = 'CONFIRMADA' AND tipo = 'MONETARIA' GROUP BY usuario_id"))
+                .contains("idx_donaciones_ranking");
+
+        assertThat(plan("SELECT COALESCE(SUM(monto), 0) FROM donaciones WHERE usuario_id = " + usuarioId
+                + " AND estado = 'CONFIRMADA' AND tipo = 'MONETARIA'"))
+                .contains("idx_donaciones_ranking");
+    }
+
+    private String plan(String sql) {
+        @SuppressWarnings("unchecked")
+        List<Object> filas = entityManager.createNativeQuery("EXPLAIN " + sql).getResultList();
+        return String.join("\n", filas.stream().map(Object::toString).toList());
+    }
+
+    private void ejecutar(String sql) {
+        entityManager.createNativeQuery(sql).executeUpdate();
+    }
+}
@@ -0,0 +1,156 @@
+package barrioFunde.demo.infrastructure.adapters.out.persistence;
+
+import barrioFunde.demo.TestcontainersConfiguration;
+import barrioFunde.demo.domain.model.Donacion;
+import barrioFunde.demo.domain.model.DonacionConDonante;
+import barrioFunde.demo.domain.model.FiltroDonacion;
+import barrioFunde.demo.domain.model.Usuario;
+import barrioFunde.demo.domain.model.enums.EstadoDonacion;
+import barrioFunde.demo.domain.model.enums.RolUsuario;
+import barrioFunde.demo.domain.model.enums.TipoDonacion;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que listar donaciones con sus donantes cuesta un número constante
+ * de sentencias SQL, sin importar cuántos usuarios distintos aparezcan.
+ * Cuenta con las estadísticas de Hibernate (sentencias preparadas).
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestcontainersConfiguration.class, DonacionPersistenceAdapter.class, UsuarioPersistenceAdapter.class})
+@Testcontainers(disabledWithoutDocker = true)
+class DonacionListadoQueryCountTest {
+
+    @Autowired
+    private DonacionPersistenceAdapter donacionAdapter;
+
+    @Autowired
+    private UsuarioPersistenceAdapter usuarioAdapter;
+
+    @Autowired
+    private UsuarioJpaRepository usuarioJpaRepository;
+
+    @Autowired
+    private DonacionJpaRepository donacionJpaRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    // Tope fijo de sentencias por listado: si alguien quita el JOIN FETCH o el
+    // @BatchSize, el número crece con los donantes distintos y estos tests fallan
+    private static final long SENTENCIAS_PAGINA = 1;
+    private static final long SENTENCIAS_RECORRIDO_PEREZOSO = 2;
+
+    @Test
+    void listarDonacionesConDonantesUsaConsultasConstantes() {
+        sembrar(5, 4);
+        long pocasFilas = contarSentenciasDeListado();
+
+        sembrar(40, 5);
+        long muchasFilas = contarSentenciasDeListado();
+
+        // 1 consulta de donaciones + 1 consulta IN de usuarios
+        assertThat(pocasFilas).isEqualTo(2);
+        assertThat(muchasFilas).isEqualTo(pocasFilas);
+    }
+
+    @Test
+    void paginaConDonantesEsUnaSolaConsulta() {
+        sembrar(30, 2);
+        Statistics statistics = reiniciarEstadisticas();
+
+        List<DonacionConDonante> pagina = donacionAdapter.buscarPagina(FiltroDonacion.todas(), null, 50);
+
+        assertThat(pagina).hasSize(50);
+        assertThat(pagina).allSatisfy(fila -> assertThat(fila.donante().getNombre()).startsWith("Donante "));
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(SENTENCIAS_PAGINA);
+    }
+
+    @Test
+    void donacionPorIdConDonanteEsUnaSolaConsulta() {
+        sembrar(1, 1);
+        Long id = donacionJpaRepository.findAll().getFirst().getId();
+        Statistics statistics = reiniciarEstadisticas();
+
+        assertThat(donacionAdapter.buscarPorIdConDonante(id))
+                .hasValueSatisfying(fila -> assertThat(fila.donante().getEmail()).endsWith("@test.com"));
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(SENTENCIAS_PAGINA);
+    }
+
+    @Test
+    void donantesPerezososSeCarganEnLotes() {
+        sembrar(45, 1);
+        Statistics statistics = reiniciarEstadisticas();
+
+        // Sin plan de carga: cada proxy de usuario se inicializa al recorrerlo
+        List<DonacionEntity> donaciones = donacionJpaRepository.findAll();
+        donaciones.forEach(donacion -> donacion.getUsuario().getNombre());
+
+        // 1 SELECT de donaciones + 1 IN de hasta 50 usuarios (@BatchSize), no 1 + 45
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(SENTENCIAS_RECORRIDO_PEREZOSO);
+    }
+
+    private Statistics reiniciarEstadisticas() {
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private long contarSentenciasDeListado() {
+        List<Long> ids = donacionJpaRepository.findAll().stream().map(DonacionEntity::getId).toList();
+        Statistics statistics = reiniciarEstadisticas();
+
+        List<Donacion> donaciones = donacionAdapter.buscarPorIds(ids);
+        Set<Long> usuarioIds = donaciones.stream()
+                .map(Donacion::getUsuarioId)
+                .collect(Collectors.toSet());
+        List<Usuario> usuarios = usuarioAdapter.buscarPorIds(usuarioIds);
+
+        assertThat(usuarios).hasSize(usuarioIds.size());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void sembrar(int usuarios, int donacionesPorUsuario) {
+        for (int i = 0; i < usuarios; i++) {
+            UsuarioEntity usuario = usuarioJpaRepository.save(UsuarioEntity.builder()
+                    .nombre("Donante " + i)
+                    .email("donante" + System.nanoTime() + "@test.com")
+                    .password("secreto123")
+                    .rol(RolUsuario.DONANTE)
+                    .activo(true)
+                    .build());
+
+            for (int j = 0; j < donacionesPorUsuario; j++) {
+                donacionJpaRepository.save(DonacionEntity.builder()
+                        .usuario(usuario)
+                        .tipo(TipoDonacion.MONETARIA)
+                        .monto(new BigDecimal("10.00"))
+                        .descripcion("Donación de prueba")
+                        .estado(EstadoDonacion.CONFIRMADA)
+                        .fechaDonacion(LocalDateTime.now())
+                        .build());
+            }
+        }
+    }
+}
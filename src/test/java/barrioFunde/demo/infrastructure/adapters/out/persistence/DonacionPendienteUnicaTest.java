@@ -0,0 +1,131 @@
+package barrioFunde.demo.infrastructure.adapters.out.persistence;
+
+import barrioFunde.demo.TestcontainersConfiguration;
+import barrioFunde.demo.application.ports.usecases.GestionDonacionService;
+import barrioFunde.demo.application.ports.usecases.TablaPosicionesDonantes;
+import barrioFunde.demo.domain.model.Donacion;
+import barrioFunde.demo.domain.model.Usuario;
+import barrioFunde.demo.domain.model.enums.EstadoDonacion;
+import barrioFunde.demo.domain.model.enums.RolUsuario;
+import barrioFunde.demo.domain.model.enums.TipoDonacion;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * "Una donación pendiente por usuario" con envíos simultáneos: el índice único
+ * parcial deja pasar una sola y las demás reciben la IllegalStateException del dominio.
+ * La FK del usuario se traduce igual, a la IllegalArgumentException de siempre
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestcontainersConfiguration.class, DonacionPersistenceAdapter.class, UsuarioPersistenceAdapter.class})
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DonacionPendienteUnicaTest {
+
+    private static final int HILOS = 8;
+
+    @Autowired
+    private DonacionPersistenceAdapter donacionAdapter;
+
+    @Autowired
+    private UsuarioPersistenceAdapter usuarioAdapter;
+
+    @Test
+    void enviosSimultaneosDejanUnaSolaPendiente() throws Exception {
+        GestionDonacionService service = new GestionDonacionService(
+                donacionAdapter, usuarioAdapter, new TablaPosicionesDonantes());
+        Long usuarioId = usuario().getId();
+
+        AtomicInteger creadas = new AtomicInteger();
+        List<String> rechazos = new ArrayList<>();
+        CountDownLatch salida = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(HILOS);
+        List<Future<?>> tareas = new ArrayList<>();
+
+        for (int i = 0; i < HILOS; i++) {
+            tareas.add(executor.submit(() -> {
+                salida.await();
+                try {
+                    service.crear(donacion(usuarioId));
+                    creadas.incrementAndGet();
+                } catch (IllegalStateException e) {
+                    synchronized (rechazos) {
+                        rechazos.add(e.getMessage());
+                    }
+                }
+                return null;
+            }));
+        }
+
+        salida.countDown();
+        for (Future<?> tarea : tareas) {
+            tarea.get();
+        }
+        executor.shutdown();
+
+        assertThat(creadas.get()).isEqualTo(1);
+        assertThat(rechazos).hasSize(HILOS - 1)
+                .allSatisfy(mensaje -> assertThat(mensaje).startsWith("Ya existe una donación pendiente"));
+        assertThat(donacionAdapter.buscarPorUsuarioId(usuarioId))
+                .filteredOn(d -> d.getEstado() == EstadoDonacion.PENDIENTE)
+                .hasSize(1);
+    }
+
+    @Test
+    void trasConfirmarSePuedeCrearOtraPendiente() {
+        GestionDonacionService service = new GestionDonacionService(
+                donacionAdapter, usuarioAdapter, new TablaPosicionesDonantes());
+        Long usuarioId = usuario().getId();
+
+        Donacion primera = service.crear(donacion(usuarioId));
+        assertThatThrownBy(() -> service.crear(donacion(usuarioId))).isInstanceOf(IllegalStateException.class);
+
+        donacionAdapter.cambiarEstadoSiPendiente(primera.getId(), EstadoDonacion.RECHAZADA, null, "duplicada");
+        assertThat(service.crear(donacion(usuarioId)).getId()).isNotNull();
+    }
+
+    @Test
+    void usuarioInexistenteSeInformaComoNoEncontrado() {
+        assertThatThrownBy(() -> donacionAdapter.guardar(donacion(Long.MAX_VALUE)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Usuario no encontrado");
+    }
+
+    private Usuario usuario() {
+        return usuarioAdapter.guardar(Usuario.builder()
+                .nombre("Donante")
+                .email("pendiente" + System.nanoTime() + "@test.com")
+                .password("secreto123")
+                .rol(RolUsuario.DONANTE)
+                .activo(true)
+                .build());
+    }
+
+    private static Donacion donacion(Long usuarioId) {
+        return Donacion.builder()
+                .usuarioId(usuarioId)
+                .tipo(TipoDonacion.MONETARIA)
+                .monto(new BigDecimal("20.00"))
+                .descripcion("Envío simultáneo")
+                .build();
+    }
+}
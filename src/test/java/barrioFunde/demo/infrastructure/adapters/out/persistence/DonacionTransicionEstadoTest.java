@@ -0,0 +1,176 @@
+package barrioFunde.demo.infrastructure.adapters.out.persistence;
+
+import barrioFunde.demo.TestcontainersConfiguration;
+import barrioFunde.demo.domain.model.Donacion;
+import barrioFunde.demo.domain.model.FiltroDonacion;
+import barrioFunde.demo.domain.model.enums.EstadoDonacion;
+import barrioFunde.demo.domain.model.enums.RolUsuario;
+import barrioFunde.demo.domain.model.enums.TipoDonacion;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Confirmar o rechazar es un único UPDATE condicional que devuelve la fila,
+ * y no aplica si la donación ya no está pendiente
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestcontainersConfiguration.class, DonacionPersistenceAdapter.class})
+@Testcontainers(disabledWithoutDocker = true)
+class DonacionTransicionEstadoTest {
+
+    @Autowired
+    private DonacionPersistenceAdapter adapter;
+
+    @Autowired
+    private UsuarioJpaRepository usuarioJpaRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void confirmarEsUnaSolaSentencia() {
+        Donacion pendiente = pendiente();
+        Statistics statistics = estadisticas();
+
+        Optional<Donacion> confirmada = adapter.cambiarEstadoSiPendiente(
+                pendiente.getId(), EstadoDonacion.CONFIRMADA, LocalDateTime.now(), "revisada");
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(confirmada).hasValueSatisfying(donacion -> {
+            assertThat(donacion.getEstado()).isEqualTo(EstadoDonacion.CONFIRMADA);
+            assertThat(donacion.getFechaConfirmacion()).isNotNull();
+            assertThat(donacion.getNotas()).isEqualTo("revisada");
+            assertThat(donacion.getUsuarioId()).isEqualTo(pendiente.getUsuarioId());
+            assertThat(donacion.getMonto()).isEqualByComparingTo("30.00");
+        });
+    }
+
+    @Test
+    void soloCambiaDesdePendiente() {
+        Donacion pendiente = pendiente();
+        adapter.cambiarEstadoSiPendiente(pendiente.getId(), EstadoDonacion.RECHAZADA, null, "duplicada");
+        entityManager.clear();
+
+        assertThat(adapter.cambiarEstadoSiPendiente(
+                pendiente.getId(), EstadoDonacion.CONFIRMADA, LocalDateTime.now(), null)).isEmpty();
+        assertThat(adapter.buscarPorId(pendiente.getId()))
+                .hasValueSatisfying(donacion -> assertThat(donacion.getEstado()).isEqualTo(EstadoDonacion.RECHAZADA));
+    }
+
+    @Test
+    void confirmarLoteActualizaYAcumulaEnConjunto() {
+        // Una pendiente por usuario (uk_donaciones_pendiente_usuario)
+        Donacion primera = pendiente();
+        Donacion segunda = pendiente();
+        Donacion rechazada = pendiente();
+        adapter.cambiarEstadoSiPendiente(rechazada.getId(), EstadoDonacion.RECHAZADA, null, "duplicada");
+        Statistics statistics = estadisticas();
+
+        List<Donacion> confirmadas = adapter.cambiarEstadoPendientes(
+                List.of(primera.getId(), segunda.getId(), rechazada.getId()),
+                EstadoDonacion.CONFIRMADA, LocalDateTime.now(), null);
+        adapter.acumularConfirmaciones(confirmadas);
+
+        // Un UPDATE para el lote y un UPSERT de totales
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(confirmadas).extracting(Donacion::getId)
+                .containsExactlyInAnyOrder(primera.getId(), segunda.getId());
+        assertThat(adapter.calcularTotalDonadoPorUsuario(primera.getUsuarioId())).isEqualByComparingTo("30.00");
+        assertThat(adapter.calcularTotalDonadoPorUsuario(segunda.getUsuarioId())).isEqualByComparingTo("30.00");
+        assertThat(adapter.calcularTotalDonadoPorUsuario(rechazada.getUsuarioId())).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void confirmarPendientesPorFiltro() {
+        Donacion pendiente = pendiente();
+        entityManager.flush();
+
+        List<Donacion> confirmadas = adapter.cambiarEstadoPendientes(
+                FiltroDonacion.builder().tipo(TipoDonacion.MONETARIA).fechaFin(LocalDateTime.now().plusMinutes(1)).build(),
+                EstadoDonacion.CONFIRMADA, LocalDateTime.now(), null, 1_000);
+
+        assertThat(confirmadas).extracting(Donacion::getId).contains(pendiente.getId());
+        assertThat(confirmadas).allSatisfy(donacion -> {
+            assertThat(donacion.getEstado()).isEqualTo(EstadoDonacion.CONFIRMADA);
+            assertThat(donacion.getTipo()).isEqualTo(TipoDonacion.MONETARIA);
+        });
+    }
+
+    @Test
+    void confirmarPendientesPorFiltroRespetaElLimite() {
+        Donacion primera = pendiente();
+        pendiente();
+        entityManager.flush();
+        FiltroDonacion filtro = FiltroDonacion.builder()
+                .fechaInicio(primera.getFechaDonacion()).fechaFin(LocalDateTime.now().plusMinutes(1)).build();
+
+        List<Donacion> confirmadas = adapter.cambiarEstadoPendientes(
+                filtro, EstadoDonacion.CONFIRMADA, LocalDateTime.now(), null, 1);
+
+        // Solo la más antigua; la otra sigue pendiente
+        assertThat(confirmadas).extracting(Donacion::getId).containsExactly(primera.getId());
+        assertThat(adapter.existenPendientes(filtro)).isTrue();
+    }
+
+    @Test
+    void crearNoConsultaAlUsuario() {
+        UsuarioEntity usuario = usuario();
+        Statistics statistics = estadisticas();
+
+        adapter.guardar(donacion(usuario.getId()));
+        entityManager.flush();
+
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+    }
+
+    private Statistics estadisticas() {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private Donacion pendiente() {
+        return adapter.guardar(donacion(usuario().getId()));
+    }
+
+    private UsuarioEntity usuario() {
+        return usuarioJpaRepository.save(UsuarioEntity.builder()
+                .nombre("Ana")
+                .email("transicion" + System.nanoTime() + "@test.com")
+                .password("secreto123")
+                .rol(RolUsuario.DONANTE)
+                .activo(true)
+                .build());
+    }
+
+    private static Donacion donacion(Long usuarioId) {
+        return Donacion.builder()
+                .usuarioId(usuarioId)
+                .tipo(TipoDonacion.MONETARIA)
+                .monto(new BigDecimal("30.00"))
+                .descripcion("Aporte")
+                .estado(EstadoDonacion.PENDIENTE)
+                .fechaDonacion(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,109 @@
+package barrioFunde.demo.infrastructure.adapters.out.persistence;
+
+import barrioFunde.demo.TestcontainersConfiguration;
+import barrioFunde.demo.domain.model.Donacion;
+import barrioFunde.demo.domain.model.EstadisticasDonante;
+import barrioFunde.demo.domain.model.enums.EstadoDonacion;
+import barrioFunde.demo.domain.model.enums.RolUsuario;
+import barrioFunde.demo.domain.model.enums.TipoDonacion;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Los incrementos hechos al confirmar deben coincidir con la reconstrucción
+ * completa desde las donaciones
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestcontainersConfiguration.class, DonacionPersistenceAdapter.class})
+@Testcontainers(disabledWithoutDocker = true)
+class DonanteTotalesTest {
+
+    @Autowired
+    private DonacionPersistenceAdapter adapter;
+
+    @Autowired
+    private DonanteTotalJpaRepository donanteTotalJpaRepository;
+
+    @Autowired
+    private UsuarioJpaRepository usuarioJpaRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void incrementosYReconstruccionCoinciden() {
+        UsuarioEntity usuario = usuarioJpaRepository.save(UsuarioEntity.builder()
+                .nombre("Ana")
+                .email("totales" + System.nanoTime() + "@test.com")
+                .password("secreto123")
+                .rol(RolUsuario.DONANTE)
+                .activo(true)
+                .build());
+
+        confirmar(usuario, TipoDonacion.MONETARIA, "40.00");
+        confirmar(usuario, TipoDonacion.MONETARIA, "10.50");
+        confirmar(usuario, TipoDonacion.ESPECIES, null);
+
+        DonanteTotalEntity incremental = donanteTotalJpaRepository.findById(usuario.getId()).orElseThrow();
+        entityManager.detach(incremental);
+
+        assertThat(adapter.reconstruirTotales()).isTrue();
+        entityManager.clear();
+
+        DonanteTotalEntity reconstruido = donanteTotalJpaRepository.findById(usuario.getId()).orElseThrow();
+        assertThat(incremental.getTotalDonado()).isEqualByComparingTo("50.50");
+        assertThat(incremental.getDonacionesMonetarias()).isEqualTo(2L);
+        assertThat(incremental.getDonacionesConfirmadas()).isEqualTo(3L);
+        assertThat(reconstruido.getTotalDonado()).isEqualByComparingTo(incremental.getTotalDonado());
+        assertThat(reconstruido.getDonacionesMonetarias()).isEqualTo(incremental.getDonacionesMonetarias());
+        assertThat(reconstruido.getDonacionesConfirmadas()).isEqualTo(incremental.getDonacionesConfirmadas());
+    }
+
+    @Test
+    void estadisticasEnUnaConsultaSoloCuentanConfirmadasMonetarias() {
+        UsuarioEntity usuario = usuarioJpaRepository.save(UsuarioEntity.builder()
+                .nombre("Luis")
+                .email("estadisticas" + System.nanoTime() + "@test.com")
+                .password("secreto123")
+                .rol(RolUsuario.DONANTE)
+                .activo(true)
+                .build());
+        for (String monto : new String[]{"10.00", "20.00", "30.00", "40.00", "100.00"}) {
+            confirmar(usuario, TipoDonacion.MONETARIA, monto);
+        }
+        confirmar(usuario, TipoDonacion.ESPECIES, null);
+
+        EstadisticasDonante estadisticas = adapter.obtenerEstadisticasDonante(usuario.getId());
+
+        assertThat(estadisticas.totalDonado()).isEqualByComparingTo("200.00");
+        assertThat(estadisticas.cantidadDonaciones()).isEqualTo(5L);
+        assertThat(estadisticas.promedio()).isEqualByComparingTo("40.00");
+        assertThat(estadisticas.montoMinimo()).isEqualByComparingTo("10.00");
+        assertThat(estadisticas.montoMaximo()).isEqualByComparingTo("100.00");
+        assertThat(estadisticas.mediana()).isEqualByComparingTo("30.00");
+        assertThat(estadisticas.percentil90()).isEqualByComparingTo("76.00");
+    }
+
+    private void confirmar(UsuarioEntity usuario, TipoDonacion tipo, String monto) {
+        Donacion donacion = adapter.guardar(Donacion.builder()
+                .usuarioId(usuario.getId())
+                .tipo(tipo)
+                .monto(monto != null ? new BigDecimal(monto) : null)
+                .descripcion("Donación de prueba")
+                .estado(EstadoDonacion.CONFIRMADA)
+                .fechaDonacion(LocalDateTime.now())
+                .build());
+        adapter.acumularConfirmacion(donacion);
+    }
+}
@@ -0,0 +1,124 @@
+package barrioFunde.demo.infrastructure.adapters.out.persistence;
+
+import barrioFunde.demo.TestcontainersConfiguration;
+import barrioFunde.demo.domain.model.Usuario;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Búsqueda de usuarios sobre los índices de trigramas y de prefijo de
+ * V7__busqueda_usuarios_trigramas: orden por similitud, LIKE literal y planes con índice
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestcontainersConfiguration.class, UsuarioPersistenceAdapter.class})
+@Testcontainers(disabledWithoutDocker = true)
+class UsuarioBusquedaTest {
+
+    @Autowired
+    private UsuarioPersistenceAdapter adapter;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void sembrar() {
+        ejecutar("""
+            INSERT INTO usuarios (nombre, email, password, rol, activo, fecha_registro)
+            VALUES ('Mariana López', 'mlopez@test.com', 'secreto123', 'DONANTE', true, now()),
+                   ('María Gómez', 'maria.gomez@test.com', 'secreto123', 'DONANTE', true, now()),
+                   ('Marco Díaz', 'mdiaz@test.com', 'secreto123', 'DONANTE', true, now()),
+                   ('Ana 100% Solidaria', 'ana_solidaria@test.com', 'secreto123', 'DONANTE', true, now()),
+                   ('Pedro Ruiz', 'contacto@mariposas.org', 'secreto123', 'LIDER_SOCIAL', true, now())
+            """);
+        ejecutar("""
+            INSERT INTO usuarios (nombre, email, password, rol, activo, fecha_registro)
+            SELECT 'Relleno ' || translate(md5(g::text), '0123456789', 'ghijklmnop'), 'relleno' || g || '@test.com', 'secreto123', 'DONANTE', true, now()
+            FROM generate_series(1, 2000) g
+            """);
+        ejecutar("ANALYZE usuarios");
+    }
+
+    @Test
+    void similitudOrdenaPorParecidoYBuscaEnNombreYEmail() {
+        List<String> nombres = nombres(adapter.buscarPorSimilitud("mariana", 0, 10));
+
+        assertThat(nombres).first().isEqualTo("Mariana López");
+        assertThat(nombres).doesNotContain("Marco Díaz");
+
+        assertThat(nombres(adapter.buscarPorSimilitud("mariposas", 0, 10)))
+                .containsExactly("Pedro Ruiz");
+    }
+
+    @Test
+    void similitudToleraErroresDeTipeo() {
+        assertThat(nombres(adapter.buscarPorSimilitud("solidria", 0, 10)))
+                .containsExactly("Ana 100% Solidaria");
+    }
+
+    @Test
+    void comodinesDelTerminoSeBuscanLiteralmente() {
+        assertThat(nombres(adapter.buscarPorSimilitud("100%", 0, 10)))
+                .containsExactly("Ana 100% Solidaria");
+        assertThat(nombres(adapter.buscarPorPrefijoNombre("m_r", 0, 10))).isEmpty();
+    }
+
+    @Test
+    void prefijoDevuelveOrdenAlfabeticoYPagina() {
+        assertThat(nombres(adapter.buscarPorPrefijoNombre("mar", 0, 10)))
+                .containsExactly("Marco Díaz", "Mariana López", "María Gómez");
+        assertThat(nombres(adapter.buscarPorPrefijoNombre("mar", 1, 1)))
+                .containsExactly("Mariana López");
+    }
+
+    @Test
+    void similitudUsaIndicesDeTrigramas() {
+        ejecutar("SET LOCAL enable_seqscan = off");
+
+        assertThat(plan("""
+            SELECT * FROM usuarios u
+            WHERE lower(u.nombre) LIKE '%mari%' OR lower(u.email) LIKE '%mari%'
+               OR 'mari' <% lower(u.nombre) OR 'mari' <% lower(u.email)
+            """))
+                .contains("idx_usuarios_nombre_trgm")
+                .contains("idx_usuarios_email_trgm");
+    }
+
+    @Test
+    void prefijoUsaIndiceOrdenadoSinSort() {
+        ejecutar("SET LOCAL enable_seqscan = off");
+
+        assertThat(plan("""
+            SELECT * FROM usuarios u
+            WHERE lower(u.nombre) COLLATE "C" LIKE 'mar%'
+            ORDER BY lower(u.nombre) COLLATE "C", u.id
+            LIMIT 20
+            """))
+                .contains("idx_usuarios_nombre_prefijo")
+                .doesNotContain("Sort");
+    }
+
+    private static List<String> nombres(List<Usuario> usuarios) {
+        return usuarios.stream().map(Usuario::getNombre).toList();
+    }
+
+    private String plan(String sql) {
+        @SuppressWarnings("unchecked")
+        List<Object> filas = entityManager.createNativeQuery("EXPLAIN " + sql).getResultList();
+        return String.join("\n", filas.stream().map(Object::toString).toList());
+    }
+
+    private void ejecutar(String sql) {
+        entityManager.createNativeQuery(sql).executeUpdate();
+    }
+}
@@ -0,0 +1,91 @@
+package barrioFunde.demo.infrastructure.adapters.out.security.Auth;
+
+import barrioFunde.demo.domain.model.Auth.DatosToken;
+import barrioFunde.demo.domain.model.Usuario;
+import barrioFunde.demo.domain.model.enums.RolUsuario;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class JwtTokenAdapterTest {
+
+    private static final String SECRETO = "claveDePruebaSuficientementeLargaParaHS256-0123456789";
+
+    private RevocacionTokenEnMemoriaAdapter revocacion;
+    private JwtTokenAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        revocacion = new RevocacionTokenEnMemoriaAdapter();
+        ReflectionTestUtils.setField(revocacion, "jwtExpiration", 60_000L);
+        adapter = crearAdapter(SECRETO, 60_000L);
+    }
+
+    @Test
+    void leerTokenDevuelveLosDatosDelUsuario() {
+        String token = adapter.generateToken(usuario());
+
+        Optional<DatosToken> datos = adapter.leerToken(token);
+
+        assertThat(datos).isPresent();
+        assertThat(datos.get().getUsuarioId()).isEqualTo(7L);
+        assertThat(datos.get().getEmail()).isEqualTo("ana@barrio.org");
+        assertThat(datos.get().getRol()).isEqualTo(RolUsuario.DONANTE);
+        assertThat(datos.get().getExpiresAt()).isNotNull();
+        assertThat(datos.get().getEmitidoEn()).isCloseTo(System.currentTimeMillis(), within(5_000L));
+    }
+
+    @Test
+    void laRevocacionInvalidaSoloLosTokensAnteriores() throws InterruptedException {
+        DatosToken anterior = adapter.leerToken(adapter.generateToken(usuario())).orElseThrow();
+
+        revocacion.revocar(7L);
+        Thread.sleep(2);
+        DatosToken nuevo = adapter.leerToken(adapter.generateToken(usuario())).orElseThrow();
+
+        assertThat(revocacion.esVigente(7L, anterior.getEmitidoEn())).isFalse();
+        assertThat(revocacion.esVigente(7L, nuevo.getEmitidoEn())).isTrue();
+        assertThat(revocacion.esVigente(8L, anterior.getEmitidoEn())).isTrue();
+    }
+
+    @Test
+    void tokenEmitidoEnOtroNodoTrasLaRevocacionEsVigente() throws InterruptedException {
+        revocacion.revocar(7L);
+        Thread.sleep(2);
+
+        // Otro nodo no conoce la revocación: firma con la misma clave y nada más
+        JwtTokenAdapter otroNodo = crearAdapter(SECRETO, 60_000L);
+        DatosToken deOtroNodo = adapter.leerToken(otroNodo.generateToken(usuario())).orElseThrow();
+
+        assertThat(revocacion.esVigente(7L, deOtroNodo.getEmitidoEn())).isTrue();
+    }
+
+    @Test
+    void leerTokenRechazaFirmaAjenaYTokenExpirado() {
+        String ajeno = crearAdapter(SECRETO + "-otro", 60_000L).generateToken(usuario());
+        String expirado = crearAdapter(SECRETO, -1_000L).generateToken(usuario());
+
+        assertThat(adapter.leerToken(ajeno)).isEmpty();
+        assertThat(adapter.leerToken(expirado)).isEmpty();
+        assertThat(adapter.leerToken("no-es-un-jwt")).isEmpty();
+        assertThat(adapter.validateToken(expirado)).isFalse();
+    }
+
+    private JwtTokenAdapter crearAdapter(String secreto, long expiracion) {
+        return new JwtTokenAdapter(secreto, expiracion);
+    }
+
+    private static Usuario usuario() {
+        Usuario usuario = new Usuario();
+        usuario.setId(7L);
+        usuario.setNombre("Ana");
+        usuario.setEmail("ana@barrio.org");
+        usuario.setRol(RolUsuario.DONANTE);
+        return usuario;
+    }
+}
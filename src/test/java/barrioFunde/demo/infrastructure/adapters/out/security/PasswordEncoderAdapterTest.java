@@ -0,0 +1,88 @@
+package barrioFunde.demo.infrastructure.adapters.out.security;
+
+import barrioFunde.demo.infrastructure.encriptacion.config.HashingConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordEncoderAdapterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch liberar = new CountDownLatch(1);
+    private final ExecutorService executor = new HashingConfig().hashExecutor(1, 1, meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        liberar.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void encodeYMatchesCorrenEnElExecutorYRegistranLatencia() {
+        PasswordEncoderAdapter adapter = new PasswordEncoderAdapter(encoderFalso(false), executor, meterRegistry);
+
+        assertThat(adapter.encode("clave")).isEqualTo("hash:clave");
+        assertThat(adapter.matches("clave", "hash:clave")).isTrue();
+        assertThat(adapter.matches("otra", "hash:clave")).isFalse();
+
+        assertThat(meterRegistry.get("hash.latencia").tag("operacion", "encode").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("hash.latencia").tag("operacion", "matches").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void rechazaCuandoLaColaEstaLlena() {
+        PasswordEncoderAdapter adapter = new PasswordEncoderAdapter(encoderFalso(true), executor, meterRegistry);
+
+        // Uno ocupa el único hilo y otro la única posición de la cola
+        CompletableFuture<String> enCurso = CompletableFuture.supplyAsync(() -> adapter.encode("a"));
+        esperarHasta(() -> meterRegistry.get("executor.active").gauge().value() == 1);
+        CompletableFuture<String> enCola = CompletableFuture.supplyAsync(() -> adapter.encode("b"));
+        esperarHasta(() -> meterRegistry.get("executor.queued").gauge().value() == 1);
+
+        assertThatThrownBy(() -> adapter.encode("c")).isInstanceOf(RejectedExecutionException.class);
+        assertThat(meterRegistry.get("hash.rechazos").counter().count()).isEqualTo(1);
+
+        liberar.countDown();
+        assertThat(enCurso.join()).isEqualTo("hash:a");
+        assertThat(enCola.join()).isEqualTo("hash:b");
+    }
+
+    private static void esperarHasta(BooleanSupplier condicion) {
+        long limite = System.currentTimeMillis() + 5_000;
+        while (!condicion.getAsBoolean() && System.currentTimeMillis() < limite) {
+            Thread.onSpinWait();
+        }
+        assertThat(condicion.getAsBoolean()).isTrue();
+    }
+
+    private PasswordEncoder encoderFalso(boolean bloquear) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                if (bloquear) {
+                    try {
+                        liberar.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return "hash:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return ("hash:" + rawPassword).equals(encodedPassword);
+            }
+        };
+    }
+}
@@ -0,0 +1,95 @@
+package barrioFunde.demo.infrastructure.encriptacion.config;
+
+import barrioFunde.demo.application.jfr.ConsultaPersistenciaEvent;
+import barrioFunde.demo.application.jfr.OperacionDonacionEvent;
+import barrioFunde.demo.application.jfr.PeticionHttpEvent;
+import barrioFunde.demo.infrastructure.encriptacion.config.AnalizadorGrabacionJfr.ResumenEndpoint;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalizadorGrabacionJfrTest {
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    void agrupaLosEventosDeCadaPeticionPorEndpoint() throws Exception {
+        Path archivo = directorio.resolve("grabacion.jfr");
+
+        try (Recording grabacion = new Recording(configuracionIncluida())) {
+            grabacion.start();
+
+            for (long donacionId = 1; donacionId <= 3; donacionId++) {
+                PeticionHttpEvent peticion = PeticionHttpEvent.iniciar("PATCH");
+                peticion.tokenValidado(7L, 1_000);
+
+                OperacionDonacionEvent confirmacion = OperacionDonacionEvent.iniciar(OperacionDonacionEvent.CONFIRMAR);
+                ConsultaPersistenciaEvent.iniciar("cambiarEstadoSiPendiente").registrar(1);
+                confirmacion.exitosa(donacionId, 7L);
+                confirmacion.registrar();
+
+                peticion.registrar("/api/donaciones/{id}/confirmar", donacionId == 3 ? 500 : 200);
+            }
+
+            PeticionHttpEvent listado = PeticionHttpEvent.iniciar("GET");
+            ConsultaPersistenciaEvent.iniciar("buscarPagina").registrar(20);
+            listado.registrar("/api/donaciones", 200);
+
+            // Sin petición alrededor, como la reconciliación nocturna
+            ConsultaPersistenciaEvent.iniciar("buscarTodas").registrar(5);
+
+            grabacion.stop();
+            grabacion.dump(archivo);
+        }
+
+        Map<String, ResumenEndpoint> resumen = AnalizadorGrabacionJfr.analizar(archivo).stream()
+                .collect(Collectors.toMap(ResumenEndpoint::endpoint, r -> r));
+
+        assertThat(resumen).containsOnlyKeys("PATCH /api/donaciones/{id}/confirmar", "GET /api/donaciones",
+                AnalizadorGrabacionJfr.FUERA_DE_PETICIONES);
+
+        ResumenEndpoint confirmar = resumen.get("PATCH /api/donaciones/{id}/confirmar");
+        assertThat(confirmar.peticiones()).isEqualTo(3);
+        assertThat(confirmar.errores()).isEqualTo(1);
+        assertThat(confirmar.consultas()).isEqualTo(3);
+        assertThat(confirmar.filas()).isEqualTo(3);
+        assertThat(confirmar.validacionToken().toNanos()).isEqualTo(3_000);
+        assertThat(confirmar.p99()).isEqualTo(confirmar.maxima());
+
+        assertThat(resumen.get("GET /api/donaciones").filas()).isEqualTo(20);
+
+        ResumenEndpoint fuera = resumen.get(AnalizadorGrabacionJfr.FUERA_DE_PETICIONES);
+        assertThat(fuera.peticiones()).isZero();
+        assertThat(fuera.consultas()).isEqualTo(1);
+        assertThat(fuera.filas()).isEqualTo(5);
+    }
+
+    @Test
+    void configuracionIncluidaActivaTodosLosEventosDeLaAplicacion() throws Exception {
+        Map<String, String> ajustes = configuracionIncluida().getSettings();
+
+        for (String evento : List.of("barrioFunde.PeticionHttp", "barrioFunde.Autenticacion",
+                "barrioFunde.OperacionDonacion", "barrioFunde.ConsultaPersistencia")) {
+            assertThat(ajustes).containsEntry(evento + "#enabled", "true");
+        }
+    }
+
+    private static Configuration configuracionIncluida() throws Exception {
+        try (Reader reader = new InputStreamReader(
+                AnalizadorGrabacionJfrTest.class.getResourceAsStream("/jfr/donaciones.jfc"), StandardCharsets.UTF_8)) {
+            return Configuration.create(reader);
+        }
+    }
+}
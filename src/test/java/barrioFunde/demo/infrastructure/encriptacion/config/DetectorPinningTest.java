@@ -0,0 +1,48 @@
+package barrioFunde.demo.infrastructure.encriptacion.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class DetectorPinningTest {
+
+    private final Object monitor = new Object();
+
+    @Test
+    void detectaUnHiloVirtualBloqueadoDentroDeSynchronized() throws Exception {
+        // Desde Java 24 synchronized ya no clava el hilo virtual
+        assumeTrue(Runtime.version().feature() < 24);
+
+        DetectorPinning detector = new DetectorPinning(new SimpleMeterRegistry(), Duration.ofMillis(10));
+        detector.iniciar();
+        try {
+            Thread.ofVirtual().start(() -> {
+                synchronized (monitor) {
+                    dormir(100);
+                }
+            }).join();
+
+            // El stream de JFR entrega los eventos con cierto retraso
+            long limite = System.currentTimeMillis() + 10_000;
+            while (detector.totalDetectados() == 0 && System.currentTimeMillis() < limite) {
+                dormir(100);
+            }
+
+            assertThat(detector.totalDetectados()).isPositive();
+        } finally {
+            detector.detener();
+        }
+    }
+
+    private static void dormir(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package barrioFunde.demo.infrastructure.encriptacion.config;
+
+import barrioFunde.demo.application.ports.in.ConsultarUsuarioUseCase;
+import barrioFunde.demo.application.ports.out.Auth.RevocacionTokenPort;
+import barrioFunde.demo.application.ports.out.PasswordEncoderPort;
+import barrioFunde.demo.application.ports.out.UsuarioRepositoryPort;
+import barrioFunde.demo.application.ports.usecases.GestionUsuarioService;
+import barrioFunde.demo.domain.model.enums.ModoBusquedaUsuario;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MetricasPuertosAspectTest {
+
+    private SimpleMeterRegistry registry;
+    private MetricasPuertosAspect aspecto;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        aspecto = new MetricasPuertosAspect(registry);
+    }
+
+    @Test
+    void casoDeUsoSeMideConElNombreDelPuerto() {
+        UsuarioRepositoryPort repositorio = mock(UsuarioRepositoryPort.class);
+        when(repositorio.buscarPorId(1L)).thenReturn(Optional.empty());
+        // Proxy por clase, como los que crea Spring: el método interceptado es el de la clase
+        GestionUsuarioService service = proxy(new GestionUsuarioService(
+                proxy(repositorio), mock(PasswordEncoderPort.class), mock(RevocacionTokenPort.class)), true);
+
+        service.buscarPorId(1L);
+        service.buscarPorId(1L);
+
+        assertThat(timer(MetricasPuertosAspect.ENTRADA, "ConsultarUsuarioUseCase", "buscarPorId", "exito").count())
+                .isEqualTo(2);
+        assertThat(timer(MetricasPuertosAspect.SALIDA, "UsuarioRepositoryPort", "buscarPorId", "exito").count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void erroresSeCuentanConLaExcepcion() {
+        ConsultarUsuarioUseCase service = proxy(new GestionUsuarioService(
+                mock(UsuarioRepositoryPort.class), mock(PasswordEncoderPort.class), mock(RevocacionTokenPort.class)));
+
+        assertThatThrownBy(() -> service.buscar(" ", ModoBusquedaUsuario.SIMILITUD, 0, 20))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(registry.get(MetricasPuertosAspect.ENTRADA)
+                .tag("metodo", "buscar")
+                .tag("resultado", "error")
+                .tag("excepcion", "IllegalArgumentException")
+                .timer().count()).isEqualTo(1);
+    }
+
+    private Timer timer(String nombre, String puerto, String metodo, String resultado) {
+        return registry.get(nombre)
+                .tag("puerto", puerto)
+                .tag("metodo", metodo)
+                .tag("resultado", resultado)
+                .timer();
+    }
+
+    private <T> T proxy(T objetivo) {
+        return proxy(objetivo, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(T objetivo, boolean porClase) {
+        AspectJProxyFactory fabrica = new AspectJProxyFactory(objetivo);
+        fabrica.setProxyTargetClass(porClase);
+        fabrica.addAspect(aspecto);
+        return (T) fabrica.getProxy();
+    }
+}
@@ -0,0 +1,178 @@
+package barrioFunde.demo.infrastructure.encriptacion.config;
+
+import barrioFunde.demo.TestcontainersConfiguration;
+import barrioFunde.demo.application.ports.out.Auth.RevocacionTokenPort;
+import barrioFunde.demo.application.ports.out.PasswordEncoderPort;
+import barrioFunde.demo.application.ports.out.UsuarioRepositoryPort;
+import barrioFunde.demo.application.ports.usecases.GestionUsuarioService;
+import barrioFunde.demo.domain.model.Usuario;
+import barrioFunde.demo.domain.model.enums.RolUsuario;
+import barrioFunde.demo.infrastructure.adapters.out.persistence.UsuarioEntity;
+import barrioFunde.demo.infrastructure.adapters.out.persistence.UsuarioJpaRepository;
+import barrioFunde.demo.infrastructure.adapters.out.persistence.UsuarioPersistenceAdapter;
+import jakarta.persistence.EntityManager;
+import org.flywaydb.core.Flyway;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import javax.sql.DataSource;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Primaria y réplica son dos PostgreSQL independientes (sin replicación), así
+ * cada fila solo es visible desde la base a la que se ruteó la conexión
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestcontainersConfiguration.class, RuteoDataSourceConfig.class,
+        UsuarioPersistenceAdapter.class, RuteoDataSourceConfigTest.Servicios.class})
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RuteoDataSourceConfigTest {
+
+    private static final String EMAIL_SOLO_REPLICA = "solo-replica@test.com";
+
+    @Container
+    static final PostgreSQLContainer REPLICA = new PostgreSQLContainer(DockerImageName.parse("postgres:16-alpine"));
+
+    @DynamicPropertySource
+    static void replica(DynamicPropertyRegistry registro) {
+        registro.add("app.datasource.replica.jdbc-url", REPLICA::getJdbcUrl);
+        registro.add("app.datasource.replica.username", REPLICA::getUsername);
+        registro.add("app.datasource.replica.password", REPLICA::getPassword);
+    }
+
+    // Mismo esquema que la primaria y una fila que solo existe en la réplica
+    @BeforeAll
+    static void prepararReplica() {
+        DataSource directa = new DriverManagerDataSource(
+                REPLICA.getJdbcUrl(), REPLICA.getUsername(), REPLICA.getPassword());
+        Flyway.configure().dataSource(directa).load().migrate();
+        new JdbcTemplate(directa).update("""
+            INSERT INTO usuarios (nombre, email, password, rol, activo, fecha_registro)
+            VALUES ('Solo Réplica', ?, 'secreto123', 'DONANTE', true, now())
+            """, EMAIL_SOLO_REPLICA);
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class Servicios {
+
+        @Bean
+        GestionUsuarioService gestionUsuarioService(UsuarioRepositoryPort repositoryPort) {
+            PasswordEncoderPort encoder = mock(PasswordEncoderPort.class);
+            when(encoder.encode(anyString())).thenReturn("hash");
+            return new GestionUsuarioService(repositoryPort, encoder, mock(RevocacionTokenPort.class));
+        }
+    }
+
+    @Autowired
+    private GestionUsuarioService service;
+
+    @Autowired
+    private UsuarioRepositoryPort repositoryPort;
+
+    @Autowired
+    private UsuarioJpaRepository jpaRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("dataSourcePrimaria")
+    private DataSource primaria;
+
+    @Test
+    void consultasDeSoloLecturaVanALaReplica() {
+        assertThat(service.buscarPorEmail(EMAIL_SOLO_REPLICA)).isPresent();
+
+        TransactionTemplate escritura = new TransactionTemplate(transactionManager);
+        Optional<UsuarioEntity> enPrimaria = escritura.execute(estado -> jpaRepository.findByEmail(EMAIL_SOLO_REPLICA));
+        assertThat(enPrimaria).isEmpty();
+    }
+
+    @Test
+    void escriturasVanALaPrimaria() {
+        Usuario creado = service.crear(Usuario.builder()
+                .nombre("Escritura Primaria")
+                .email("primaria" + System.nanoTime() + "@test.com")
+                .password("secreto123")
+                .build());
+
+        Integer enPrimaria = new JdbcTemplate(primaria).queryForObject(
+                "SELECT COUNT(*) FROM usuarios WHERE id = ?", Integer.class, creado.getId());
+        assertThat(enPrimaria).isEqualTo(1);
+        assertThat(service.buscarPorEmail(creado.getEmail())).isEmpty();
+    }
+
+    @Test
+    void casosDeUsoQueLeenYEscribenLeenDeLaPrimaria() {
+        // El email existe solo en la réplica: la validación de unicidad debe mirar la primaria
+        Usuario creado = service.crear(Usuario.builder()
+                .nombre("Lectura Primaria")
+                .email(EMAIL_SOLO_REPLICA)
+                .password("secreto123")
+                .build());
+
+        // El usuario no existe en la réplica: buscarPorId y la version salen de la primaria
+        service.cambiarRol(creado.getId(), RolUsuario.LIDER_SOCIAL);
+        Usuario desactivado = service.cambiarEstado(creado.getId(), false);
+        assertThat(desactivado.getActivo()).isFalse();
+        assertThat(desactivado.getRol()).isEqualTo(RolUsuario.LIDER_SOCIAL);
+    }
+
+    @Test
+    void lecturasDeUsuarioFueraDeUnCasoDeUsoVanALaPrimaria() {
+        Usuario creado = service.crear(Usuario.builder()
+                .nombre("Login Primaria")
+                .email("login" + System.nanoTime() + "@test.com")
+                .password("secreto123")
+                .build());
+
+        // Login y principal del token leen sin transacción propia
+        assertThat(repositoryPort.buscarPorEmail(creado.getEmail())).isPresent();
+        assertThat(repositoryPort.buscarPorId(creado.getId())).isPresent();
+        // Un caso de uso de consulta sigue yendo a la réplica
+        assertThat(service.buscarPorId(creado.getId())).isEmpty();
+    }
+
+    @Test
+    void soloLecturaNoGuardaCopiasParaDirtyChecking() {
+        TransactionTemplate lectura = new TransactionTemplate(transactionManager);
+        lectura.setReadOnly(true);
+
+        Boolean sinCopia = lectura.execute(estado -> {
+            UsuarioEntity entity = jpaRepository.findByEmail(EMAIL_SOLO_REPLICA).orElseThrow();
+            return entityManager.unwrap(Session.class).isReadOnly(entity);
+        });
+
+        assertThat(sinCopia).isTrue();
+    }
+}